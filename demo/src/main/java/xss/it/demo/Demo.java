@@ -18,6 +18,7 @@ import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
+import xss.it.nfx.NfxUtil;
 
 import java.io.IOException;
 
@@ -34,6 +35,8 @@ public class Demo extends Application {
      * @param args The command line arguments.
      */
     public static void main(String[] args) {
+        // extract and load the native library while JavaFX starts
+        NfxUtil.preloadAsync();
         launch(args);
     }
 
@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+package xss.it.demo;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+import xss.it.nfx.NfxBackend;
+import xss.it.nfx.NfxUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Measures the time to the first window of the demo, with and without
+ * {@link NfxUtil#preloadAsync()}.
+ * <p>
+ * Every run is a fresh JVM, started alternately with and without the preload. It opens the
+ * demo's main window and reports once its native side is set up ({@code whenNfxReady()}),
+ * or once it is shown when the backend is not available; the preload only makes a
+ * difference on Windows. With {@code cold}, every run gets an empty {@code user.home}, so
+ * the library is extracted again, as on a first launch.
+ * <p>
+ * Usage: {@code StartupBenchmark [runs per mode] [cold]}, e.g.
+ * {@code gradle :demo:startupBenchmark -PbenchmarkArgs="10 cold"}.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+public final class StartupBenchmark {
+    /**
+     * Runs per mode when none are given.
+     */
+    private static final int DEFAULT_RUNS = 5;
+
+    /**
+     * Argument starting a measured run instead of the benchmark.
+     */
+    private static final String CHILD = "--child";
+
+    /**
+     * Prefix of the line a measured run prints its result on.
+     */
+    private static final String RESULT = "TTFW ";
+
+    /**
+     * {@link System#nanoTime()} when a measured run entered {@code main}.
+     */
+    private static long mainEntered;
+
+    /**
+     * Not instantiable.
+     */
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark, or one measured run when started by it.
+     *
+     * @param args the runs per mode and {@code cold}, both optional
+     * @throws Exception if a run cannot be started or fails
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(CHILD)) {
+            mainEntered = System.nanoTime();
+            if (Boolean.parseBoolean(args[1])) {
+                NfxUtil.preloadAsync();
+            }
+            Application.launch(FirstWindow.class);
+            return;
+        }
+
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        boolean cold = Arrays.asList(args).contains("cold");
+        List<long[]> without = new ArrayList<>(), with = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            without.add(run(false, cold));
+            with.add(run(true, cold));
+        }
+        System.out.printf("runs per mode %d, %s library cache%n", runs, cold ? "cold" : "warm");
+        System.out.printf("backend       %s%n", NfxBackend.current().getClass().getSimpleName());
+        report("no preload", without);
+        report("preload", with);
+    }
+
+    /**
+     * Starts one measured run and waits for its result.
+     *
+     * @param preload whether the run preloads the library
+     * @param cold    whether the run gets an empty user home
+     * @return milliseconds since JVM start and since {@code main}
+     */
+    private static long[] run(boolean preload, boolean cold) throws IOException, InterruptedException {
+        Path home = cold ? Files.createTempDirectory("nfx-startup") : null;
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        if (home != null) command.add("-Duser.home=" + home);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(StartupBenchmark.class.getName());
+        command.add(CHILD);
+        command.add(Boolean.toString(preload));
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            long[] result = null;
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                for (String line; (line = out.readLine()) != null; ) {
+                    if (line.startsWith(RESULT)) {
+                        String[] values = line.substring(RESULT.length()).split(" ");
+                        result = new long[]{Long.parseLong(values[0]), Long.parseLong(values[1])};
+                    }
+                }
+            }
+            int exit = process.waitFor();
+            if (result == null) {
+                throw new IllegalStateException("Run exited with " + exit + " and no result");
+            }
+            return result;
+        } finally {
+            if (home != null) delete(home);
+        }
+    }
+
+    /**
+     * Prints the median and range of one mode.
+     */
+    private static void report(String mode, List<long[]> results) {
+        long[] sinceStart = results.stream().mapToLong(r -> r[0]).sorted().toArray();
+        long[] sinceMain = results.stream().mapToLong(r -> r[1]).sorted().toArray();
+        System.out.printf("%-13s median %d ms from JVM start (%d..%d), %d ms from main%n", mode,
+                sinceStart[sinceStart.length / 2], sinceStart[0], sinceStart[sinceStart.length - 1],
+                sinceMain[sinceMain.length / 2]);
+    }
+
+    /**
+     * Deletes a run's user home.
+     */
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Opens the demo's main window and prints how long it took.
+     */
+    public static final class FirstWindow extends Application {
+        /**
+         * Creates the application.
+         */
+        public FirstWindow() {
+        }
+
+        @Override
+        public void start(Stage stage) throws IOException {
+            MainWindowWithFXML window = new MainWindowWithFXML();
+            window.setTitle("NfxCore Startup");
+            Parent parent = Assets.load("/main.fxml", window);
+            window.setScene(new Scene(parent));
+            if (NfxBackend.current().isAvailable()) {
+                window.whenNfxReady().thenRun(FirstWindow::done);
+            } else {
+                window.addEventHandler(WindowEvent.WINDOW_SHOWN, e -> done());
+            }
+            window.show();
+        }
+
+        /**
+         * Prints the result and ends the run.
+         */
+        private static void done() {
+            long sinceStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            long sinceMain = (System.nanoTime() - mainEntered) / 1_000_000;
+            System.out.println(RESULT + sinceStart + " " + sinceMain);
+            Platform.exit();
+        }
+    }
+}
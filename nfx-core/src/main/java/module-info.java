@@ -20,7 +20,11 @@ module nfx.core {
     requires java.desktop;
     requires jdk.dynalink;
     requires javafx.controls;
+    requires static jdk.management;
+    requires jdk.jfr;
 
     exports xss.it.nfx;
     opens xss.it.nfx;
+
+    uses xss.it.nfx.NfxBackend;
 }
\ No newline at end of file
@@ -12,8 +12,8 @@
 
 package xss.it.nfx;
 
-import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -21,13 +21,13 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.css.PseudoClass;
 import javafx.event.Event;
 import javafx.event.EventType;
-import javafx.geometry.Rectangle2D;
 import javafx.scene.paint.Color;
 import javafx.stage.WindowEvent;
-import javafx.util.Duration;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * @author XDSSWAR
@@ -37,37 +37,37 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
     /**
      * Represents a constant for hit-testing the client area of a window.
      */
-    private static final int HT_CLIENT = 1;
+    static final int HT_CLIENT = 1;
 
     /**
      * Represents a constant for hit-testing the caption/title bar of a window.
      */
-    private static final int HT_CAPTION = 2;
+    static final int HT_CAPTION = 2;
 
     /**
      * Represents a constant for hit-testing the system menu of a window.
      */
-    private static final int HT_SYS_MENU = 3;
+    static final int HT_SYS_MENU = 3;
 
     /**
      * Represents a constant for hit-testing the minimize button of a window.
      */
-    private static final int HT_MIN_BUTTON = 8;
+    static final int HT_MIN_BUTTON = 8;
 
     /**
      * Represents a constant for hit-testing the maximize button of a window.
      */
-    private static final int HT_MAX_BUTTON = 9;
+    static final int HT_MAX_BUTTON = 9;
 
     /**
      * Represents a constant for hit-testing the top edge of a window.
      */
-    private static final int HT_TOP = 12;
+    static final int HT_TOP = 12;
 
     /**
      * Represents a constant for hit-testing the close button of a window.
      */
-    private static final int HT_CLOSE = 20;
+    static final int HT_CLOSE = 20;
 
     /**
      * EventType for the background change event.
@@ -76,9 +76,75 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
 
 
     /**
-     * HitSpots
+     * HitSpots, published as a whole with a single volatile write.
      */
-    private volatile List<HitSpot> HIT_SPOTS = new CopyOnWriteArrayList<>();
+    private volatile HitSpotSnapshot hitSpots = HitSpotSnapshot.EMPTY;
+
+    /**
+     * Set when a spot's bounds in scene changed after the snapshot was built.
+     */
+    private volatile boolean hitSpotGeometryDirty = false;
+
+    /**
+     * Table mirroring the hit spots for the native window procedure.
+     */
+    private final HitTestTable hitTable = new HitTestTable();
+
+    /**
+     * Hit-test trace recorder, null when not recording.
+     */
+    private HitTestRecorder hitTestRecorder = null;
+
+    /**
+     * Number of native state updates issued so far, reported with state transitions.
+     */
+    private int nativeUpdates = 0;
+
+    /**
+     * Number of hit-spot refreshes requested so far.
+     */
+    private int hitSpotRefreshes = 0;
+
+    /**
+     * Number of outermost state transactions committed so far.
+     */
+    private int stateTransactions = 0;
+
+    /**
+     * Size changes that asked for a native update, see {@link #requestSizeUpdate()}.
+     */
+    private int sizeUpdateRequests = 0;
+
+    /**
+     * Native updates issued on behalf of size changes.
+     */
+    private int sizeUpdatesIssued = 0;
+
+    /**
+     * Set when a size change asked for a native update, handled on the next pulse.
+     */
+    private boolean sizeUpdatePending = false;
+
+    /**
+     * Maximized (bit 0) and full-screen (bit 1) flags of the last native update, -1 when none
+     * was issued since the native side was installed.
+     */
+    private int lastUpdateFlags = -1;
+
+    /**
+     * Nesting depth of the state transaction in progress, 0 outside of one.
+     */
+    private int transactionDepth = 0;
+
+    /**
+     * Set when a native update was requested inside the current state transaction.
+     */
+    private boolean pendingUpdate = false;
+
+    /**
+     * Set when a hit-spot refresh was requested inside the current state transaction.
+     */
+    private boolean pendingHitSpots = false;
 
     /**
      * Prev WindowState
@@ -119,9 +185,19 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
     protected static final PseudoClass HT_CLIENT_CLASS = PseudoClass.getPseudoClass("ht-client");
 
     /**
-     * Spots validation debounce
+     * Set when the hit-spot snapshot must be rebuilt on the next pulse.
+     */
+    private volatile boolean hitSpotsDirty = true;
+
+    /**
+     * Post-layout pulse listener rebuilding the hit spots once per pulse, only when dirty.
+     */
+    private final Runnable hitSpotsPulse = this::refreshHitSpotsOnPulse;
+
+    /**
+     * Listeners registered when the native side is installed, removed when it is uninstalled.
      */
-    private final PauseTransition hitSpotsDebounce = new  PauseTransition(Duration.millis(300));
+    private final Subscriptions installSubscriptions = new Subscriptions();
 
     /**
      * Constructs a new AbstractNfxUndecoratedWindow with default settings.
@@ -140,7 +216,7 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
     public AbstractNfxUndecoratedWindow(boolean hideFromTaskBar){
         super();
         initialize();
-        if (NfxUtil.isWindows()) {
+        if (backend().isAvailable()) {
             setHideFromTaskBar(hideFromTaskBar);
         }
     }
@@ -150,17 +226,24 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
      * This method performs any necessary initialization steps for the window.
      */
     private void initialize(){
-        if (NfxUtil.isWindows()) {
+        if (backend().isAvailable()) {
+            // Registered first, so the native mirror is current before any other listener reacts
+            InvalidationListener stateMirror = observable -> mirrorState();
+            maximizedProperty().addListener(stateMirror);
+            fullScreenProperty().addListener(stateMirror);
+
             nfxUtilProperty().addListener((obs, o, nfxUtil) -> {
+                // a new NfxUtil without an uninstall in between must not stack listeners
+                installSubscriptions.dispose();
                 if (nfxUtil != null) {
-                    install(nfxUtil.getHWnd());
+                    installNative(nfxUtil.getHWnd());
                     update(isMaximized(), isFullScreen());
-                    hideFromTaskBar(nfxUtil.getHWnd(), getHideFromTaskBar());
-                    hideFromTaskBarProperty().addListener((obs1, o1, hide)
-                            -> hideFromTaskBar(nfxUtil.getHWnd(), hide));
+                    backend().hideFromTaskBar(this, nfxUtil.getHWnd(), getHideFromTaskBar());
+                    installSubscriptions.add(hideFromTaskBarProperty(), (obs1, o1, hide)
+                            -> backend().hideFromTaskBar(this, nfxUtil.getHWnd(), hide));
 
                     if (isMaximized()) setWindowState(WindowState.MAXIMIZED);
-                    maximizedProperty().addListener((obs1, o1, max) -> {
+                    installSubscriptions.add(maximizedProperty(), (obs1, o1, max) -> runStateTransaction(() -> {
                         if (max) {
                             setWindowState(WindowState.MAXIMIZED);
                         } else {
@@ -170,10 +253,10 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
                         }
                         invalidateSpots();
                         updateHitSpots();
-                    });
+                    }));
 
                     if (isFullScreen()) setWindowState(WindowState.FULL_SCREEN);
-                    fullScreenProperty().addListener((obs1, o1, full) -> {
+                    installSubscriptions.add(fullScreenProperty(), (obs1, o1, full) -> runStateTransaction(() -> {
                         if (full) {
                             setWindowState(WindowState.FULL_SCREEN);
                         } else {
@@ -183,11 +266,11 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
                         }
                         invalidateSpots();
                         updateHitSpots();
-                    });
+                    }));
 
                     if (isIconified()) setWindowState(WindowState.MINIMIZED);
 
-                    iconifiedProperty().addListener((obs1, o1, min) -> {
+                    installSubscriptions.add(iconifiedProperty(), (obs1, o1, min) -> runStateTransaction(() -> {
                         if (min) {
                             setWindowState(WindowState.MINIMIZED);
                         } else {
@@ -197,42 +280,44 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
                         }
                         invalidateSpots();
                         updateHitSpots();
-                    });
+                    }));
 
                     //State
-                    handleState(getWindowState());
+                    runStateTransaction(() -> handleState(getWindowState()));
 
-                    windowStateProperty().addListener((ob, old, state) -> {
+                    installSubscriptions.add(windowStateProperty(), (ob, old, state) -> {
                         if (WindowState.MINIMIZED != old) {
                             prevState = old;
                         }
-                        handleState(state);
+                        NfxStateTransitionEvent event = NfxStateTransitionEvent.start(old, state);
+                        int updates = nativeUpdates;
+                        runStateTransaction(() -> handleState(state));
+                        NfxStateTransitionEvent.finish(event, nativeUpdates - updates);
                     });
 
-                    cornerPreferenceProperty().addListener(observable -> {
+                    installSubscriptions.add(cornerPreferenceProperty(), observable -> runStateTransaction(() -> {
                         invalidateSpots();
                         update(isMaximized(), isFullScreen());
                         updateHitSpots();
-                    });
+                    }));
 
-                    windowBorderProperty().addListener((observableValue, color, t1) -> {
+                    installSubscriptions.add(windowBorderProperty(), (observableValue, color, t1) -> runStateTransaction(() -> {
                         invalidateSpots();
                         update(isMaximized(), isFullScreen());
                         updateHitSpots();
-                    });
+                    }));
 
-                    sceneProperty().addListener((obs1, scene, s) -> refresh());
+                    installSubscriptions.add(sceneProperty(), (obs1, scene, s) -> refresh());
                     updateHitSpots();
                 }
-
-                //Timer
-                hitSpotsDebounce.setOnFinished(e -> {
-                    HIT_SPOTS.clear();
-                    HIT_SPOTS.addAll(getHitSpots());
-                });
             });
         }
 
+        sceneProperty().addListener((obs, old, scene) -> {
+            if (old != null) old.removePostLayoutPulseListener(hitSpotsPulse);
+            if (scene != null) scene.addPostLayoutPulseListener(hitSpotsPulse);
+        });
+
         addEventHandler(WindowEvent.WINDOW_SHOWN, e->{
             if (firstShowAlready) {
                 updateOnStateLost();
@@ -365,19 +450,64 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
 
     /**
      * Updates the hit spots in the window.
+     * Marks the snapshot dirty; it is rebuilt right after the next layout pass, so the
+     * hit geometry always matches what is on screen.
      */
     private void updateHitSpots(){
+        if (transactionDepth > 0) {
+            pendingHitSpots = true;
+            return;
+        }
+        hitSpotRefreshes++;
+        hitSpotsDirty = true;
+        requestHitSpotsPulse();
+    }
+
+    /**
+     * Makes sure a pulse runs so the post-layout listener can pick up dirty hit spots.
+     */
+    private void requestHitSpotsPulse(){
         if (Platform.isFxApplicationThread()) {
-            hitSpotsDebounce.stop();
-            hitSpotsDebounce.playFromStart();
+            Platform.requestNextPulse();
         } else {
-            Platform.runLater(() -> {
-                hitSpotsDebounce.stop();
-                hitSpotsDebounce.playFromStart();
-            });
+            Platform.runLater(Platform::requestNextPulse);
         }
     }
 
+    /**
+     * Runs after every layout pass of the window's scene. Issues the native update size
+     * changes asked for, then rebuilds the snapshot when it was marked dirty, or republishes
+     * fresh rectangles when only spot geometry moved.
+     */
+    private void refreshHitSpotsOnPulse(){
+        if (sizeUpdatePending) {
+            sizeUpdatePending = false;
+            if (updateFlags() != lastUpdateFlags) {
+                sizeUpdatesIssued++;
+                update(isMaximized(), isFullScreen());
+            }
+        }
+        if (hitSpotsDirty) {
+            hitSpotsDirty = false;
+            hitSpotGeometryDirty = false;
+            rebuildHitSpots(true);
+        } else {
+            hitSpots();
+        }
+    }
+
+    /**
+     * Rebuilds the hit-spot snapshot and publishes it.
+     *
+     * @param full True to re-read the spot list, false to only refresh the current spots' geometry.
+     */
+    private void rebuildHitSpots(boolean full){
+        NfxHitSpotRebuildEvent event = NfxHitSpotRebuildEvent.start();
+        HitSpotSnapshot snapshot = full ? HitSpotSnapshot.of(getHitSpots()) : hitSpots.withCurrentGeometry();
+        boolean reallocated = publishHitSpots(snapshot);
+        NfxHitSpotRebuildEvent.finish(event, snapshot.size(), full, reallocated);
+    }
+
     /**
      * Handles the window state change.
      *
@@ -400,11 +530,116 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
     }
 
 
+    /**
+     * Runs window state changes as one transaction.
+     * <p>
+     * Setting {@code maximized}, {@code fullScreen}, {@code iconified} or {@code windowState}
+     * fans out through their listeners into further state changes, each asking for a native
+     * frame update and a hit-spot refresh. Inside a transaction those requests are only
+     * recorded; when the outermost transaction ends, at most one native update is issued,
+     * with the final state, and at most one hit-spot refresh is requested. Transactions
+     * nest. Must be called on the JavaFX Application Thread.
+     *
+     * @param changes The state changes to make.
+     */
+    public final void runStateTransaction(Runnable changes) {
+        transactionDepth++;
+        try {
+            changes.run();
+        } finally {
+            if (--transactionDepth == 0) {
+                commitStateTransaction();
+            }
+        }
+    }
+
+    /**
+     * Issues what the outermost state transaction asked for, once.
+     */
+    private void commitStateTransaction() {
+        stateTransactions++;
+        if (pendingUpdate) {
+            pendingUpdate = false;
+            update(isMaximized(), isFullScreen());
+        }
+        if (pendingHitSpots) {
+            pendingHitSpots = false;
+            updateHitSpots();
+        }
+    }
+
+    /**
+     * Gets the number of native frame updates issued for this window so far.
+     *
+     * @return The native update count.
+     */
+    public final int getNativeUpdateCount() {
+        return nativeUpdates;
+    }
+
+    /**
+     * Gets the number of hit-spot refreshes requested for this window so far. Requests made
+     * before the next pulse are rebuilt together.
+     *
+     * @return The hit-spot refresh count.
+     */
+    public final int getHitSpotRefreshCount() {
+        return hitSpotRefreshes;
+    }
+
+    /**
+     * Gets the number of size changes so far that asked for a native update.
+     *
+     * @return The size update request count.
+     */
+    public final int getSizeUpdateRequests() {
+        return sizeUpdateRequests;
+    }
+
+    /**
+     * Gets the number of native updates issued on behalf of size changes so far, at most
+     * one per pulse and only when the maximized or full-screen flag changed.
+     *
+     * @return The issued size update count.
+     */
+    public final int getSizeUpdatesIssued() {
+        return sizeUpdatesIssued;
+    }
+
+    /**
+     * Gets the number of size changes so far that did not issue their own native update,
+     * being coalesced into the pulse's update or skipped for unchanged flags.
+     *
+     * @return The suppressed size update count.
+     */
+    public final int getSizeUpdatesSuppressed() {
+        return sizeUpdateRequests - sizeUpdatesIssued;
+    }
+
+    /**
+     * Gets the number of state transactions committed for this window so far, nested
+     * transactions excluded.
+     *
+     * @return The committed transaction count.
+     */
+    public final int getStateTransactionCount() {
+        return stateTransactions;
+    }
+
+    /**
+     * Gets the number of listeners registered for the current native install.
+     *
+     * @return The install listener count, 0 while not installed.
+     */
+    final int getInstallListenerCount() {
+        return installSubscriptions.size();
+    }
+
     /**
      * Triggers an update to refresh the entire window and its spots
      */
     public final void refresh(){
-        if (NfxUtil.isWindows()) {
+        if (backend().isAvailable()) {
             invalidateSpots();
             updateHitSpots();
         }
@@ -421,9 +656,9 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
      * </p>
      */
     private void updateOnStateLost(){
-        if (NfxUtil.isWindows()) {
+        if (backend().isAvailable()) {
             ensureNfx();
-            install(getNfxUtil().getHWnd());
+            installNative(getNfxUtil().getHWnd());
         }
         refresh();
     }
@@ -451,23 +686,166 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
      * @param full Whether the window should be in full-screen mode.
      */
     protected final void update(boolean max, boolean full) {
-        if (NfxUtil.isWindows()) {
-            update(getNfxUtil().getHWnd(), isMaximized(), isFullScreen());
+        if (transactionDepth > 0) {
+            pendingUpdate = true;
+            return;
+        }
+        if (backend().isAvailable()) {
+            long hWnd = getNfxUtil().getHWnd();
+            nativeUpdates++;
+            lastUpdateFlags = updateFlags();
+            NfxNativeCallEvent event = NfxNativeCallEvent.start("update", hWnd);
+            backend().update(this, hWnd, isMaximized(), isFullScreen());
+            NfxNativeCallEvent.finish(event);
+        }
+    }
+
+    /**
+     * Coalesces the native updates asked for by size changes to one per pulse. The frame
+     * only depends on the maximized and full-screen flags, so the update is skipped when
+     * they are those of the last update issued.
+     */
+    @Override
+    protected final void requestSizeUpdate() {
+        if (!backend().isAvailable()) return;
+        sizeUpdateRequests++;
+        if (!sizeUpdatePending) {
+            sizeUpdatePending = true;
+            requestHitSpotsPulse();
         }
     }
 
+    /**
+     * Gets the maximized and full-screen flags in the form kept by {@link #lastUpdateFlags}.
+     */
+    private int updateFlags() {
+        return (isMaximized() ? 1 : 0) | (isFullScreen() ? 2 : 0);
+    }
+
+    /**
+     * Installs the native window procedure and hands it the shared hit-test table.
+     *
+     * @param hWnd The window handle.
+     */
+    private void installNative(long hWnd) {
+        NfxNativeCallEvent event = NfxNativeCallEvent.start("install", hWnd);
+        backend().install(this, hWnd, callbacks);
+        NfxNativeCallEvent.finish(event);
+        lastUpdateFlags = -1; // a fresh window procedure has not computed the frame yet
+        mirrorState();
+        attachHitTable(hWnd);
+    }
+
+    /**
+     * Pushes the maximized and full-screen state down to the native window procedure, which
+     * answers from this mirror instead of calling back into Java on every frame recalculation.
+     */
+    private void mirrorState() {
+        NfxUtil nfx = getNfxUtil();
+        if (nfx == null) return;
+        long hWnd = nfx.getHWnd();
+        NfxNativeCallEvent event = NfxNativeCallEvent.start("mirrorState", hWnd);
+        backend().mirrorState(this, hWnd, isMaximized(), isFullScreen());
+        NfxNativeCallEvent.finish(event);
+    }
+
+    /**
+     * Hands the shared hit-test table to the native window procedure, or detaches it while
+     * a trace is recorded so every hit test goes through {@link #jniHitTest}.
+     *
+     * @param hWnd The window handle.
+     */
+    private void attachHitTable(long hWnd) {
+        NfxNativeCallEvent event = NfxNativeCallEvent.start("setHitTable", hWnd);
+        backend().setHitTable(this, hWnd, hitTestRecorder == null ? hitTable.buffer() : null);
+        NfxNativeCallEvent.finish(event);
+    }
+
+    /**
+     * Starts recording every hit test of this window into a trace file, replacing any
+     * recording in progress. While recording, hit tests are resolved in Java rather than in
+     * the native table so the trace sees all of them. Replay the file with
+     * {@link HitTestReplayer}. Must be called on the JavaFX Application Thread.
+     *
+     * @param file The trace file, created or truncated.
+     * @throws IOException If the file cannot be created.
+     */
+    public final void startHitTestRecording(Path file) throws IOException {
+        stopHitTestRecording();
+        hitTestRecorder = new HitTestRecorder(file);
+        NfxUtil nfx = getNfxUtil();
+        if (backend().isAvailable() && nfx != null) {
+            attachHitTable(nfx.getHWnd());
+        }
+    }
+
+    /**
+     * Stops the hit-test recording in progress, if any, and hands hit testing back to the
+     * native table. Must be called on the JavaFX Application Thread.
+     */
+    public final void stopHitTestRecording() {
+        HitTestRecorder recorder = hitTestRecorder;
+        if (recorder == null) return;
+        hitTestRecorder = null;
+        try {
+            recorder.close();
+        } catch (IOException e) {
+            // The trace keeps every record committed so far
+        }
+        NfxUtil nfx = getNfxUtil();
+        if (backend().isAvailable() && nfx != null) {
+            attachHitTable(nfx.getHWnd());
+        }
+    }
+
+    /**
+     * Checks whether a hit-test recording is in progress.
+     *
+     * @return True if hit tests are being recorded, false otherwise.
+     */
+    public final boolean isHitTestRecording() {
+        return hitTestRecorder != null;
+    }
+
+    /**
+     * Publishes a hit-spot snapshot to the Java hit test and to the native table.
+     *
+     * @param snapshot The snapshot to publish.
+     * @return True if the native table was reallocated and handed over again.
+     */
+    private boolean publishHitSpots(HitSpotSnapshot snapshot) {
+        hitSpots = snapshot;
+        if (hitTable.publish(snapshot, getTitleBarHeight())) {
+            NfxUtil nfx = getNfxUtil();
+            if (backend().isAvailable() && nfx != null) {
+                attachHitTable(nfx.getHWnd());
+            }
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Uninstall the system
      */
     private void uninstall(){
-        if (NfxUtil.isWindows()){
+        if (backend().isAvailable()){
             ensureNfx();
-            uninstall(getNfxUtil().getHWnd());
+            long hWnd = getNfxUtil().getHWnd();
+            NfxNativeCallEvent event = NfxNativeCallEvent.start("uninstall", hWnd);
+            backend().uninstall(this, hWnd);
+            NfxNativeCallEvent.finish(event);
+            lastUpdateFlags = -1;
+            installSubscriptions.dispose();
             resetNfx();
         }
     }
 
     /*
+     * =================================================================================================================
+     *
+     *                                  Native methods, called through JniBackend
+     *
      * =================================================================================================================
      */
 
@@ -477,7 +855,7 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
      * @param hWnd The handle of the window to hide
      * @param hide True to hide the window from the taskbar, false to show it
      */
-    private native void hideFromTaskBar(long hWnd, boolean hide);
+    native void hideFromTaskBar(long hWnd, boolean hide);
 
     /**
      * This method will change the Window WinProc in the native side.
@@ -485,7 +863,7 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
      *
      * @param hWnd The handle of the window to install
      */
-    private native void install(long hWnd);
+    native void install(long hWnd);
 
     /**
      * This method will change the Window WinProc in the native side.
@@ -493,7 +871,7 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
      *
      * @param hWnd The handle of the window to install
      */
-    private native void uninstall(long hWnd);
+    native void uninstall(long hWnd);
 
 
     /**
@@ -503,7 +881,25 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
      * @param maximized True if the window is maximized, false otherwise.
      * @param fullScreen is window is full screen
      */
-    private native void update(long hWnd, boolean maximized, boolean fullScreen);
+    native void update(long hWnd, boolean maximized, boolean fullScreen);
+
+    /**
+     * Hands the shared hit-test table to the native window procedure, which resolves
+     * WM_NCHITTEST from it and only calls back on hover transitions.
+     *
+     * @param hWnd  The window handle.
+     * @param table Direct buffer laid out as described in {@link HitTestTable}.
+     */
+    native void setHitTable(long hWnd, ByteBuffer table);
+
+    /**
+     * Mirrors the maximized and full-screen state into the native window procedure.
+     *
+     * @param hWnd       The window handle.
+     * @param maximized  Whether the window is maximized.
+     * @param fullScreen Whether the window is in full-screen mode.
+     */
+    native void mirrorState(long hWnd, boolean maximized, boolean fullScreen);
 
 
     /*
@@ -513,6 +909,34 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
      *
      * =================================================================================================================
      */
+    /**
+     * The JNI callables, for backends that call the window back through {@link NfxBackend}.
+     */
+    private final NfxBackend.WindowCallbacks callbacks = new NfxBackend.WindowCallbacks() {
+        @Override
+        public int hitTest(int x, int y, boolean isOnResizeBorder) {
+            return jniHitTest(x, y, isOnResizeBorder);
+        }
+
+        @Override
+        public void hoverChanged(int index, int generation) {
+            jniHoverChanged(index, generation);
+        }
+
+        @Override
+        public void stateChanged() {
+            jniFireStateChanged();
+        }
+
+        @Override
+        public void mouseLeft() {
+            jniInvalidateSpots();
+        }
+    };
+
+    /**
+     * The spot currently flagged as hovered, or null. Only this spot can have hovered=true.
+     */
     private HitSpot currentHoveredSpot = null;
 
     /**
@@ -524,62 +948,59 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
      * @return The hit test result code.
      */
     private int jniHitTest(int x, int y, boolean isOnResizeBorder ) {
-        boolean isOnTitleBar = y < getTitleBarHeight();
-        HitSpot newHoveredSpot = null; // Track the new spot being hovered
-
-        if (isOnTitleBar) {
-            for (HitSpot spot : HIT_SPOTS) {
-                if (contains(spot.getRect(), x, y)) {
-                    newHoveredSpot = spot;
-                    break; // Found the hovered spot, exit loop
-                }
-            }
-
-            // Only update if the hovered spot has changed
-            if (currentHoveredSpot != newHoveredSpot) {
-                invalidateSpots(); // Invalidate all spots
-
-                if (newHoveredSpot != null) {
-                    newHoveredSpot.setHovered(true); // Set the new hovered spot
-                }
-
-                currentHoveredSpot = newHoveredSpot; // Update current hovered spot reference
+        NfxHitTestEvent event = NfxHitTestEvent.start();
+        double titleBarHeight = getTitleBarHeight();
+        boolean isOnTitleBar = y < titleBarHeight;
+        HitSpotSnapshot snapshot = hitSpots();
+        int index = isOnTitleBar ? snapshot.find(x, y) : -1;
+
+        // Flips only the previous and the new spot, and only on a real transition
+        hover(index >= 0 ? snapshot.spot(index) : null);
+
+        int result = hitTestCode(index >= 0 ? snapshot.code(index) : 0, isOnTitleBar, isOnResizeBorder);
+        HitTestRecorder recorder = hitTestRecorder;
+        if (recorder != null) {
+            try {
+                recorder.record(snapshot, titleBarHeight, x, y, isOnResizeBorder, result);
+            } catch (IOException e) {
+                stopHitTestRecording();
             }
-
-            // Return appropriate value for the hovered spot type
-            if (newHoveredSpot != null) {
-                if (newHoveredSpot.isSystemMenu()) return HT_SYS_MENU;
-                if (newHoveredSpot.isMinimize()) return HT_MIN_BUTTON;
-                if (newHoveredSpot.isMaximize()) return HT_MAX_BUTTON;
-                if (newHoveredSpot.isClose()) return HT_CLOSE;
-                if (newHoveredSpot.isClient()) return HT_CLIENT;
-            }
-        }
-        else {
-            currentHoveredSpot = null;
         }
-        invalidateSpots();
-        // Return based on title bar and resize border status
-        return isOnTitleBar ? (isOnResizeBorder ? HT_TOP : HT_CAPTION) : (isOnResizeBorder ? HT_TOP : HT_CLIENT);
+        NfxHitTestEvent.finish(event, x, y, snapshot.size(), result);
+        return result;
     }
 
-
     /**
-     * Checks if the window is in fullscreen mode. Call from JNI
+     * Maps the outcome of a spot lookup to the hit test result code. Shared with
+     * {@link HitTestReplayer} so a replayed trace follows exactly the same rules.
      *
-     * @return True if the window is in fullscreen mode, false otherwise.
+     * @param spotCode         The precomputed code of the spot under the point, or 0 if none.
+     * @param isOnTitleBar     Whether the point is on the title bar.
+     * @param isOnResizeBorder Whether the point is on the top resize border.
+     * @return The hit test result code.
      */
-    private boolean jniIsFullScreen(){
-        return isFullScreen();
+    static int hitTestCode(int spotCode, boolean isOnTitleBar, boolean isOnResizeBorder) {
+        if (spotCode > 0) {
+            return spotCode == HT_CAPTION && isOnResizeBorder ? HT_TOP : spotCode;
+        }
+        // Return based on title bar and resize border status
+        return isOnTitleBar ? (isOnResizeBorder ? HT_TOP : HT_CAPTION) : (isOnResizeBorder ? HT_TOP : HT_CLIENT);
     }
 
+
     /**
-     * Checks if the window is maximized using JNI.
+     * Moves the hover state after the native hit test saw the pointer enter another spot.
+     * Call from JNI, only on transitions.
      *
-     * @return True if the window is maximized, false otherwise
+     * @param index      The index of the spot now under the pointer, or -1.
+     * @param generation The table generation the index refers to.
      */
-    private boolean jniIsMaximized() {
-        return isMaximized();
+    private void jniHoverChanged(int index, int generation) {
+        if (generation != hitTable.generation()) {
+            return; // table was republished since, native side will report again
+        }
+        HitSpotSnapshot snapshot = hitTable.snapshot();
+        hover(index >= 0 && index < snapshot.size() ? snapshot.spot(index) : null);
     }
 
 
@@ -609,22 +1030,55 @@ public abstract class AbstractNfxUndecoratedWindow extends NfxWindow {
      */
 
     /**
-     * Checks if the given point (x, y) is contained within the specified Rectangle2D object.
+     * Returns the current hit-spot snapshot, republishing it with fresh rectangles first
+     * if any spot geometry changed since it was built.
      *
-     * @param rect The Rectangle2D object to check against.
-     * @param x    The x-coordinate of the point.
-     * @param y    The y-coordinate of the point.
-     * @return True if the point is contained within the rectangle, false otherwise.
+     * @return The current snapshot.
+     */
+    private HitSpotSnapshot hitSpots() {
+        if (hitSpotGeometryDirty) {
+            hitSpotGeometryDirty = false;
+            rebuildHitSpots(false);
+        }
+        return hitSpots;
+    }
+
+    /**
+     * Marks the hit-spot geometry as stale. The Java hit test re-reads the rectangles on its
+     * next call; the native table is republished at the end of the current layout pass.
+     * Called when a spot's bounds in scene change.
      */
-    private boolean contains(Rectangle2D rect, int x, int y ) {
-        return (rect != null && rect.contains( x, y ) );
+    final void invalidateHitSpotGeometry() {
+        if (hitSpotGeometryDirty) return;
+        hitSpotGeometryDirty = true;
+        requestHitSpotsPulse();
     }
 
 
     /**
-     * Invalidates the hit spots by setting their hover state to false.
+     * Moves the hover flag to the given spot.
+     * <p>
+     * Only the previously hovered spot and the new one are touched, and nothing happens
+     * when the hovered spot did not change, so a pointer sweep costs one CSS invalidation
+     * per transition instead of one per spot and move.
+     *
+     * @param next The spot now under the pointer, or null.
+     */
+    private void hover(HitSpot next) {
+        HitSpot prev = currentHoveredSpot;
+        if (prev == next) return;
+        currentHoveredSpot = next;
+        if (prev != null) prev.setHovered(false);
+        if (next != null) next.setHovered(true);
+    }
+
+    /**
+     * Invalidates the hit spots by clearing the hover state of the hovered spot, if any.
      */
     protected final void invalidateSpots(){
-        HIT_SPOTS.forEach(hitSpot -> hitSpot.setHovered(false));
+        if (currentHoveredSpot != null) {
+            hitTable.touch(); // the native side must report the spot again on the next move
+        }
+        hover(null);
     }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import java.util.ServiceLoader;
+
+/**
+ * Lazy holder of the backend selected for this JVM, see {@link NfxBackend#current()}.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+final class BackendSelector {
+    /**
+     * The backend of this JVM.
+     */
+    static final NfxBackend BACKEND = select();
+
+    /**
+     * Not instantiable.
+     */
+    private BackendSelector() {
+    }
+
+    /**
+     * Selects the backend from the {@code nfx.backend} property and the registered providers.
+     */
+    private static NfxBackend select() {
+        String name = System.getProperty("nfx.backend", "");
+        if (name.equalsIgnoreCase("simulated")) {
+            return new SimulatedBackend();
+        }
+        if (name.equalsIgnoreCase("jni")) {
+            return JniBackend.INSTANCE;
+        }
+        for (NfxBackend backend : ServiceLoader.load(NfxBackend.class)) {
+            if (backend.isAvailable()) {
+                return backend;
+            }
+        }
+        return JniBackend.INSTANCE;
+    }
+}
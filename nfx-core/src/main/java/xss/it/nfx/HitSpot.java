@@ -1,8 +1,11 @@
 package xss.it.nfx;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.geometry.Bounds;
+import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.layout.Region;
 
@@ -36,6 +39,16 @@ public final class HitSpot {
      */
     private final boolean systemMenu;
 
+    /**
+     * Flag indicating whether the HitSpot is a caption (drag) area.
+     */
+    private final boolean caption;
+
+    /**
+     * Flag indicating whether hits inside the rectangle are confirmed against the control's shape.
+     */
+    private final boolean precise;
+
     /**
      * Flag indicating whether the HitSpot is a client.
      */
@@ -51,6 +64,21 @@ public final class HitSpot {
      */
     private AbstractNfxUndecoratedWindow window = null;
 
+    /**
+     * Cached scene-space bounds of the control, or null when they must be recomputed.
+     */
+    private Rectangle2D rect;
+
+    /**
+     * Drops the cached rectangle whenever the control's bounds in scene change and lets the
+     * window know its hit-test index is stale.
+     * Held strongly here and registered weakly so the control never keeps this spot alive.
+     */
+    private final InvalidationListener geometryListener = observable -> {
+        rect = null;
+        window.invalidateHitSpotGeometry();
+    };
+
     /**
      * Constructs a HitSpot object using a builder pattern to specify interaction options.
      *
@@ -66,7 +94,15 @@ public final class HitSpot {
         this.maximize = builder.maximize;
         this.minimize = builder.minimize;
         this.systemMenu = builder.systemMenu;
-        this.client = !close && !maximize && !minimize && !systemMenu;
+        this.caption = builder.caption;
+        this.client = !close && !maximize && !minimize && !systemMenu && !caption;
+        this.precise = builder.precise && control != null;
+
+        if (control != null) {
+            WeakInvalidationListener weak = new WeakInvalidationListener(geometryListener);
+            control.boundsInLocalProperty().addListener(weak);
+            control.localToSceneTransformProperty().addListener(weak);
+        }
     }
 
 
@@ -147,6 +183,54 @@ public final class HitSpot {
         return systemMenu;
     }
 
+    /**
+     * Checks if the HitSpot is a caption area, dragging the window like the title bar.
+     *
+     * @return True if the HitSpot is a caption area, false otherwise.
+     */
+    public boolean isCaption() {
+        return caption;
+    }
+
+    /**
+     * Checks if hits are confirmed against the control's shape rather than its bounding rectangle.
+     *
+     * @return True if the HitSpot is precise, false otherwise.
+     */
+    public boolean isPrecise() {
+        return precise;
+    }
+
+    /**
+     * Checks whether the control's shape contains the given scene point, honouring its
+     * shape, rounded backgrounds and clip. Only meant for points already inside
+     * {@link #getRect()}, which is the cheap prefilter.
+     * <p>
+     * Node#contains only looks at the shape when the node does not pick on bounds, so a
+     * control that picks on bounds has the flag cleared for the duration of the test and
+     * restored before returning. Hit tests run on the FX thread, so nothing renders or
+     * picks in between and the control's own mouse picking is left as the app set it.
+     *
+     * @param sceneX x in scene coordinates
+     * @param sceneY y in scene coordinates
+     * @return True if the point is on the control's shape, false otherwise.
+     */
+    boolean contains(double sceneX, double sceneY) {
+        Point2D local = control.sceneToLocal(sceneX, sceneY);
+        if (local == null) {
+            return false;
+        }
+        if (!control.isPickOnBounds()) {
+            return control.contains(local);
+        }
+        control.setPickOnBounds(false);
+        try {
+            return control.contains(local);
+        } finally {
+            control.setPickOnBounds(true);
+        }
+    }
+
     /**
      * Checks if the client interaction is enabled.
      *
@@ -159,14 +243,21 @@ public final class HitSpot {
 
     /**
      * Returns the Rectangle2D representing the bounds of the HitSpot in the scene coordinates.
+     * <p>
+     * The rectangle is cached and only recomputed after the control's local bounds or its
+     * local-to-scene transform (layout, transforms, any ancestor moving) have changed, so
+     * repeated calls from the hit-test path neither walk the scene graph nor allocate.
      *
      * @return The Rectangle2D representing the bounds of the HitSpot.
      */
     public Rectangle2D getRect(){
-        return createFromBounds(control.localToScene(
-                control.getBoundsInLocal()),
-                window.getWindowState()== WindowState.MAXIMIZED
-        );
+        Rectangle2D r = rect;
+        if (r == null) {
+            // Reading both properties re-validates them so the listener fires on the next change
+            r = createFromBounds(control.getLocalToSceneTransform().transform(control.getBoundsInLocal()));
+            rect = r;
+        }
+        return r;
     }
 
     /**
@@ -175,12 +266,11 @@ public final class HitSpot {
      * the coordinate space of the supplied bounds.
      *
      * @param bounds the bounds to convert (must not be null)
-     * @param max    optional hint for maximized layouts; currently not used
      * @return a Rectangle2D with {@code x = bounds.minX}, {@code y = bounds.minY},
      *         {@code width = bounds.width}, {@code height = bounds.height}
      */
 
-    public static Rectangle2D createFromBounds(Bounds bounds, boolean max){
+    public static Rectangle2D createFromBounds(Bounds bounds){
         return new Rectangle2D(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(),bounds.getHeight());
     }
 
@@ -213,6 +303,16 @@ public final class HitSpot {
          */
         private boolean systemMenu = false;
 
+        /**
+         * Flag indicating whether the HitSpot is a caption (drag) area.
+         */
+        private boolean caption = false;
+
+        /**
+         * Flag indicating whether hits are confirmed against the control's shape.
+         */
+        private boolean precise = false;
+
         private AbstractNfxUndecoratedWindow window;
 
         /**
@@ -271,6 +371,34 @@ public final class HitSpot {
             return this;
         }
 
+        /**
+         * Sets whether the HitSpot is a caption area. Caption areas drag the window like the
+         * title bar; client spots nested inside them stay interactive.
+         *
+         * @param caption true if the HitSpot should act as a caption area, false otherwise
+         * @return the Builder object
+         */
+        public Builder caption(boolean caption) {
+            this.caption = caption;
+            return this;
+        }
+
+        /**
+         * Sets whether the HitSpot is precise. A precise spot first matches on its bounding
+         * rectangle like any other spot, then confirms the hit with {@link Region#contains},
+         * so the transparent corners of round or pill-shaped controls fall through to the
+         * spot behind them (usually the caption). The control's {@code pickOnBounds} is
+         * not changed, so mouse picking inside the app behaves as before.
+         * Only use it where the shape matters, the exact test is far more expensive.
+         *
+         * @param precise true if hits should be confirmed against the control's shape
+         * @return the Builder object
+         */
+        public Builder precise(boolean precise) {
+            this.precise = precise;
+            return this;
+        }
+
         /**
          * Sets the window instance for the builder and returns the builder for chaining.
          * <p>
@@ -0,0 +1,398 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Immutable spatial index over a tree of hit-spot rectangles.
+ * <p>
+ * Spots are stored in pre-order: the subtree of spot {@code i} spans the indices
+ * {@code [i, end(i))}, its children follow it in order. Every spot also carries the
+ * bounds of its whole subtree, so a lookup skips a subtree as soon as those bounds
+ * miss the point. Inside a subtree the children are tried first, which makes the
+ * innermost spot containing the point win; between siblings the first one wins.
+ * A flat list (every spot a root) therefore keeps the plain first-match semantics.
+ * <p>
+ * The roots are additionally bucketed into fixed-width columns by the horizontal extent
+ * of their subtrees. A lookup only visits the roots of the column under the point, in
+ * their original order.
+ * <p>
+ * Spots flagged as precise only match once their rectangle contains the point and a
+ * {@link Refinement} confirms it; a rejected precise spot lets the lookup continue with
+ * its parent and the following siblings. Without precise spots a lookup never leaves
+ * the rectangle arrays.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+final class HitSpotIndex {
+    /**
+     * Target column width in DIP.
+     */
+    private static final double COLUMN_WIDTH = 16;
+
+    /**
+     * Upper bound for the number of columns, keeps very wide title bars cheap to index.
+     */
+    private static final int MAX_COLUMNS = 512;
+
+    /**
+     * Shared empty column.
+     */
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Packed rectangles, four doubles per spot: minX, minY, maxX, maxY (all inclusive).
+     */
+    private final double[] rects;
+
+    /**
+     * Packed subtree bounds, same layout as {@link #rects}.
+     */
+    private final double[] bounds;
+
+    /**
+     * Exclusive end of each spot's subtree.
+     */
+    private final int[] ends;
+
+    /**
+     * Parent of each spot, -1 for roots. Lookups climb it instead of recursing, so deep
+     * containers cannot overflow the stack.
+     */
+    private final int[] parents;
+
+    /**
+     * Precise flag per spot, or null when no spot is precise.
+     */
+    private final boolean[] precise;
+
+    /**
+     * Left edge of the first column.
+     */
+    private final double originX;
+
+    /**
+     * Right-most edge covered by any spot.
+     */
+    private final double limitX;
+
+    /**
+     * Effective column width.
+     */
+    private final double columnWidth;
+
+    /**
+     * Number of columns.
+     */
+    private final int columnCount;
+
+    /**
+     * Root indices per column, ascending.
+     */
+    private final int[][] columns;
+
+    /**
+     * Builds a flat index, every spot is a root.
+     *
+     * @param rects four doubles per spot (minX, minY, maxX, maxY); empty spots use NaN
+     */
+    HitSpotIndex(double[] rects) {
+        this(rects, null);
+    }
+
+    /**
+     * Builds an index over a pre-ordered tree of spots.
+     *
+     * @param rects four doubles per spot (minX, minY, maxX, maxY); empty spots use NaN
+     * @param ends  exclusive subtree end per spot, or null for a flat list
+     */
+    HitSpotIndex(double[] rects, int[] ends) {
+        this(rects, ends, null);
+    }
+
+    /**
+     * Builds an index over a pre-ordered tree of spots, some of which may be precise.
+     *
+     * @param rects   four doubles per spot (minX, minY, maxX, maxY); empty spots use NaN
+     * @param ends    exclusive subtree end per spot, or null for a flat list
+     * @param precise precise flag per spot, or null when no spot is precise
+     */
+    HitSpotIndex(double[] rects, int[] ends, boolean[] precise) {
+        int count = rects.length / 4;
+        if (ends == null) {
+            ends = new int[count];
+            for (int i = 0; i < count; i++) ends[i] = i + 1;
+        }
+        this.rects = rects;
+        this.ends = ends;
+        this.parents = parents(ends);
+        this.precise = precise;
+        this.bounds = subtreeBounds(rects, ends);
+
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i = ends[i]) {
+            if (Double.isNaN(bounds[i * 4])) continue;
+            min = Math.min(min, bounds[i * 4]);
+            max = Math.max(max, bounds[i * 4 + 2]);
+        }
+
+        if (min > max) {
+            originX = limitX = 0;
+            columnWidth = COLUMN_WIDTH;
+            columnCount = 0;
+            columns = new int[0][];
+            return;
+        }
+
+        originX = min;
+        limitX = max;
+        double span = max - min;
+        columnCount = (int) Math.min(MAX_COLUMNS, Math.floor(span / COLUMN_WIDTH) + 1);
+        columnWidth = columnCount == MAX_COLUMNS ? span / (MAX_COLUMNS - 1) : COLUMN_WIDTH;
+
+        int[] sizes = new int[columnCount];
+        for (int i = 0; i < count; i = ends[i]) {
+            if (Double.isNaN(bounds[i * 4])) continue;
+            for (int c = column(bounds[i * 4]), last = column(bounds[i * 4 + 2]); c <= last; c++) {
+                sizes[c]++;
+            }
+        }
+
+        columns = new int[columnCount][];
+        for (int c = 0; c < columnCount; c++) {
+            columns[c] = sizes[c] == 0 ? NONE : new int[sizes[c]];
+            sizes[c] = 0;
+        }
+        for (int i = 0; i < count; i = ends[i]) {
+            if (Double.isNaN(bounds[i * 4])) continue;
+            for (int c = column(bounds[i * 4]), last = column(bounds[i * 4 + 2]); c <= last; c++) {
+                columns[c][sizes[c]++] = i;
+            }
+        }
+    }
+
+    /**
+     * Writes a rectangle into the packed array; null rectangles are stored as empty.
+     *
+     * @param rects packed array
+     * @param i     spot index
+     * @param rect  rectangle, may be null
+     */
+    static void pack(double[] rects, int i, Rectangle2D rect) {
+        if (rect == null) {
+            rects[i * 4] = rects[i * 4 + 1] = rects[i * 4 + 2] = rects[i * 4 + 3] = Double.NaN;
+        } else {
+            rects[i * 4] = rect.getMinX();
+            rects[i * 4 + 1] = rect.getMinY();
+            rects[i * 4 + 2] = rect.getMaxX();
+            rects[i * 4 + 3] = rect.getMaxY();
+        }
+    }
+
+    /**
+     * Finds the innermost spot containing the point, the first one among siblings.
+     *
+     * @param x x in scene coordinates
+     * @param y y in scene coordinates
+     * @return the spot index, or -1 when no spot contains the point
+     */
+    int find(double x, double y) {
+        return find(x, y, null);
+    }
+
+    /**
+     * Finds the innermost spot containing the point, the first one among siblings, confirming
+     * precise spots with the given refinement.
+     *
+     * @param x          x in scene coordinates
+     * @param y          y in scene coordinates
+     * @param refinement exact test for precise spots, or null to match them on their rectangle
+     * @return the spot index, or -1 when no spot contains the point
+     */
+    int find(double x, double y, Refinement refinement) {
+        if (columnCount == 0 || x < originX || x > limitX) return -1;
+
+        for (int root : columns[column(x)]) {
+            int hit = search(root, x, y, refinement);
+            if (hit >= 0) return hit;
+        }
+        return -1;
+    }
+
+    /**
+     * Searches the subtree of spot {@code root}, children before the spot itself.
+     * Iterative: a missed subtree hands over to its next sibling, or to its parent once it
+     * was the last child.
+     */
+    private int search(int root, double x, double y, Refinement refinement) {
+        int i = root;
+        while (true) {
+            if (contains(bounds, i, x, y)) {
+                if (i + 1 < ends[i]) {
+                    i++; // first child
+                    continue;
+                }
+                if (matches(i, x, y, refinement)) return i;
+            }
+            // the subtree of i missed
+            while (true) {
+                if (i == root) return -1;
+                int parent = parents[i];
+                if (ends[i] < ends[parent]) {
+                    i = ends[i];
+                    break;
+                }
+                i = parent;
+                if (matches(i, x, y, refinement)) return i;
+            }
+        }
+    }
+
+    /**
+     * Checks whether spot {@code i} itself, not its subtree, contains the point.
+     */
+    private boolean matches(int i, double x, double y, Refinement refinement) {
+        if (!contains(rects, i, x, y)) return false;
+        return precise == null || !precise[i] || refinement == null || refinement.contains(i, x, y);
+    }
+
+    /**
+     * Checks whether spot {@code i} is precise.
+     */
+    boolean isPrecise(int i) {
+        return precise != null && precise[i];
+    }
+
+    /**
+     * Gets the left edge of spot {@code i}, NaN when the spot has no rectangle.
+     */
+    double minX(int i) {
+        return rects[i * 4];
+    }
+
+    /**
+     * Gets the top edge of spot {@code i}, NaN when the spot has no rectangle.
+     */
+    double minY(int i) {
+        return rects[i * 4 + 1];
+    }
+
+    /**
+     * Gets the right edge of spot {@code i}, NaN when the spot has no rectangle.
+     */
+    double maxX(int i) {
+        return rects[i * 4 + 2];
+    }
+
+    /**
+     * Gets the bottom edge of spot {@code i}, NaN when the spot has no rectangle.
+     */
+    double maxY(int i) {
+        return rects[i * 4 + 3];
+    }
+
+    /**
+     * Gets subtree bound {@code k} (0 = minX, 1 = minY, 2 = maxX, 3 = maxY) of spot {@code i}.
+     */
+    double subtreeBound(int i, int k) {
+        return bounds[i * 4 + k];
+    }
+
+    /**
+     * Gets the exclusive end of the subtree of spot {@code i}.
+     */
+    int end(int i) {
+        return ends[i];
+    }
+
+    /**
+     * Gets the number of indexed spots.
+     *
+     * @return the spot count
+     */
+    int size() {
+        return rects.length / 4;
+    }
+
+    /**
+     * Checks whether box {@code i} of the packed array contains the point, edges inclusive
+     * like {@link Rectangle2D#contains}. NaN boxes never match.
+     */
+    private static boolean contains(double[] boxes, int i, double x, double y) {
+        int o = i * 4;
+        return x >= boxes[o] && x <= boxes[o + 2] && y >= boxes[o + 1] && y <= boxes[o + 3];
+    }
+
+    /**
+     * Computes the parent of every spot, -1 for roots.
+     */
+    private static int[] parents(int[] ends) {
+        int[] parents = new int[ends.length];
+        // open[0..depth) holds the ancestors of i, innermost last
+        int[] open = new int[ends.length];
+        int depth = 0;
+        for (int i = 0; i < ends.length; i++) {
+            while (depth > 0 && ends[open[depth - 1]] <= i) depth--;
+            parents[i] = depth > 0 ? open[depth - 1] : -1;
+            open[depth++] = i;
+        }
+        return parents;
+    }
+
+    /**
+     * Computes the union of every spot's rectangle with its descendants', NaN when all are empty.
+     */
+    private static double[] subtreeBounds(double[] rects, int[] ends) {
+        double[] b = rects.clone();
+        // Children come after their parent, so folding backwards sees every subtree complete
+        for (int i = ends.length - 1; i >= 0; i--) {
+            for (int c = i + 1; c < ends[i]; c = ends[c]) {
+                if (Double.isNaN(b[c * 4])) continue;
+                if (Double.isNaN(b[i * 4])) {
+                    System.arraycopy(b, c * 4, b, i * 4, 4);
+                } else {
+                    b[i * 4] = Math.min(b[i * 4], b[c * 4]);
+                    b[i * 4 + 1] = Math.min(b[i * 4 + 1], b[c * 4 + 1]);
+                    b[i * 4 + 2] = Math.max(b[i * 4 + 2], b[c * 4 + 2]);
+                    b[i * 4 + 3] = Math.max(b[i * 4 + 3], b[c * 4 + 3]);
+                }
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Maps an x coordinate to a clamped column number.
+     */
+    private int column(double x) {
+        return (int) Math.min(columnCount - 1, Math.max(0, (x - originX) / columnWidth));
+    }
+
+    /**
+     * Exact test run for a precise spot once its rectangle contains the point.
+     */
+    @FunctionalInterface
+    interface Refinement {
+        /**
+         * Checks whether spot {@code i} really contains the point.
+         *
+         * @param i spot index
+         * @param x x in scene coordinates
+         * @param y y in scene coordinates
+         * @return true if the spot contains the point
+         */
+        boolean contains(int i, double x, double y);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Region;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, packed view of a window's hit spots.
+ * <p>
+ * Holds the spots in hit-test order together with their rectangles (as primitive
+ * {@code double[]} inside the {@link HitSpotIndex}) and their precomputed {@code HT_*}
+ * result codes. A snapshot is published with a single volatile write and never mutated,
+ * so a hit test always sees a complete table and resolves a point without allocating.
+ * <p>
+ * Spots are arranged as a tree mirroring the containment of their controls in the scene
+ * graph: a spot whose control sits inside another spot's control becomes its child. The
+ * innermost spot under the pointer therefore wins regardless of registration order, and
+ * whole subtrees are skipped when their bounds miss the point.
+ * <p>
+ * Precise spots are confirmed against their control's shape, but only after their
+ * rectangle matched, so the shape test runs for candidates only.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+final class HitSpotSnapshot {
+    /**
+     * Snapshot without any spot.
+     */
+    static final HitSpotSnapshot EMPTY = new HitSpotSnapshot(new HitSpot[0], new HitSpot[0], new int[0], new HitSpotIndex(new double[0]));
+
+    /**
+     * Spots in the order they were supplied.
+     */
+    private final HitSpot[] source;
+
+    /**
+     * Spots in tree pre-order, the order used by the index.
+     */
+    private final HitSpot[] spots;
+
+    /**
+     * HT result code per spot.
+     */
+    private final int[] codes;
+
+    /**
+     * Spatial index over the spot rectangles.
+     */
+    private final HitSpotIndex index;
+
+    /**
+     * Shape test for precise spots, created once per snapshot so lookups do not allocate.
+     */
+    private final HitSpotIndex.Refinement refinement = (i, x, y) -> spot(i).contains(x, y);
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param source spots in the order they were supplied
+     * @param spots  spots in tree pre-order
+     * @param codes  HT code per spot
+     * @param index  index built from the spot rectangles
+     */
+    private HitSpotSnapshot(HitSpot[] source, HitSpot[] spots, int[] codes, HitSpotIndex index) {
+        this.source = source;
+        this.spots = spots;
+        this.codes = codes;
+        this.index = index;
+    }
+
+    /**
+     * Builds a snapshot from the given spots using their current rectangles.
+     *
+     * @param list spots in hit-test order
+     * @return a new snapshot
+     */
+    static HitSpotSnapshot of(List<HitSpot> list) {
+        if (list == null || list.isEmpty()) return EMPTY;
+        return build(list.toArray(new HitSpot[0]));
+    }
+
+    /**
+     * Returns a snapshot of the same spots with rectangles and containment re-read from the scene.
+     *
+     * @return a new snapshot reflecting the current geometry
+     */
+    HitSpotSnapshot withCurrentGeometry() {
+        if (spots.length == 0) return this;
+        return build(source);
+    }
+
+    /**
+     * Arranges the spots into their containment tree and packs it.
+     */
+    private static HitSpotSnapshot build(HitSpot[] source) {
+        int n = source.length;
+
+        // First spot registered for each control
+        Map<Node, Integer> owners = new IdentityHashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            Region control = source[i].getControl();
+            if (control != null) owners.putIfAbsent(control, i);
+        }
+
+        // Children lists linked through firstChild/nextSibling, kept in supplied order
+        int[] firstChild = new int[n + 1], lastChild = new int[n + 1], nextSibling = new int[n];
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(nextSibling, -1);
+        for (int i = 0; i < n; i++) {
+            int parent = n; // virtual root
+            Region control = source[i].getControl();
+            for (Node p = control == null ? null : control.getParent(); p != null; p = p.getParent()) {
+                Integer owner = owners.get(p);
+                if (owner != null && owner != i) {
+                    parent = owner;
+                    break;
+                }
+            }
+            if (firstChild[parent] < 0) firstChild[parent] = i;
+            else nextSibling[lastChild[parent]] = i;
+            lastChild[parent] = i;
+        }
+
+        // Pre-order walk, iterative so deep containers cannot overflow the stack
+        HitSpot[] spots = new HitSpot[n];
+        int[] codes = new int[n];
+        int[] ends = new int[n];
+        double[] rects = new double[n * 4];
+        boolean[] precise = null;
+        int[] path = new int[n], pos = new int[n];
+        int depth = -1, next = 0;
+        int current = firstChild[n];
+        while (true) {
+            if (current >= 0) {
+                spots[next] = source[current];
+                codes[next] = codeOf(source[current]);
+                HitSpotIndex.pack(rects, next, source[current].getRect());
+                if (source[current].isPrecise()) {
+                    if (precise == null) precise = new boolean[n];
+                    precise[next] = true;
+                }
+                path[++depth] = current;
+                pos[depth] = next++;
+                current = firstChild[current];
+            } else {
+                if (depth < 0) break;
+                ends[pos[depth]] = next;
+                current = nextSibling[path[depth--]];
+            }
+        }
+        return new HitSpotSnapshot(source, spots, codes, new HitSpotIndex(rects, ends, precise));
+    }
+
+    /**
+     * Finds the spot containing the point.
+     *
+     * @param x x in scene coordinates
+     * @param y y in scene coordinates
+     * @return the spot index, or -1 if none
+     */
+    int find(double x, double y) {
+        return index.find(x, y, refinement);
+    }
+
+    /**
+     * Gets the spot at the given index.
+     *
+     * @param i spot index
+     * @return the spot
+     */
+    HitSpot spot(int i) {
+        return spots[i];
+    }
+
+    /**
+     * Gets the HT code of the spot at the given index.
+     *
+     * @param i spot index
+     * @return the HT code
+     */
+    int code(int i) {
+        return codes[i];
+    }
+
+    /**
+     * Gets the spatial index holding the spot rectangles.
+     *
+     * @return the index
+     */
+    HitSpotIndex index() {
+        return index;
+    }
+
+    /**
+     * Gets the number of spots.
+     *
+     * @return the spot count
+     */
+    int size() {
+        return spots.length;
+    }
+
+    /**
+     * Maps a spot to the HT code reported when it is hit.
+     */
+    private static int codeOf(HitSpot spot) {
+        if (spot.isSystemMenu()) return AbstractNfxUndecoratedWindow.HT_SYS_MENU;
+        if (spot.isMinimize()) return AbstractNfxUndecoratedWindow.HT_MIN_BUTTON;
+        if (spot.isMaximize()) return AbstractNfxUndecoratedWindow.HT_MAX_BUTTON;
+        if (spot.isClose()) return AbstractNfxUndecoratedWindow.HT_CLOSE;
+        if (spot.isCaption()) return AbstractNfxUndecoratedWindow.HT_CAPTION;
+        return AbstractNfxUndecoratedWindow.HT_CLIENT;
+    }
+}
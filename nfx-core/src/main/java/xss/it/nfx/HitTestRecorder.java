@@ -0,0 +1,221 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records the inputs and results of the Java hit test into a compact binary trace,
+ * written through memory-mapped chunks of the file so recording a mouse storm costs a
+ * few buffer writes per hit. {@link HitTestReplayer} reads the trace back.
+ * <p>
+ * All values are little-endian:
+ * <pre>
+ *  header  0   int   magic ('NFXT')
+ *          4   int   version
+ *          8   long  length of the records that follow, updated after every record
+ *  TABLE   byte 1, double titleBarHeight, int count,
+ *          count * (double minX, minY, maxX, maxY, int end, int code, int flags)
+ *  HIT     byte 2, int x, int y, byte isOnResizeBorder, int result
+ * </pre>
+ * A TABLE record is written whenever the snapshot or the title-bar height differ from the
+ * ones the previous HIT record was resolved against. The file may be longer than the
+ * recorded length, readers must stop at the length stored in the header.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+final class HitTestRecorder implements Closeable {
+    /**
+     * File magic, 'NFXT' when read as bytes.
+     */
+    static final int MAGIC = 0x5458464E;
+
+    /**
+     * Format version.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Header size in bytes.
+     */
+    static final int HEADER_BYTES = 16;
+
+    /**
+     * Tag of a table record.
+     */
+    static final byte TABLE = 1;
+
+    /**
+     * Tag of a hit record.
+     */
+    static final byte HIT = 2;
+
+    /**
+     * Size of one spot inside a table record.
+     */
+    static final int SPOT_BYTES = 44;
+
+    /**
+     * Size of a hit record, tag included.
+     */
+    static final int HIT_BYTES = 14;
+
+    /**
+     * Size of the regions mapped at once.
+     */
+    private static final int CHUNK_BYTES = 1 << 22;
+
+    /**
+     * The trace file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Mapping of the header, kept to update the recorded length.
+     */
+    private final MappedByteBuffer header;
+
+    /**
+     * Mapping records are currently written to.
+     */
+    private MappedByteBuffer chunk;
+
+    /**
+     * File offset of {@link #chunk}.
+     */
+    private long chunkOffset;
+
+    /**
+     * Bytes of records written so far.
+     */
+    private long length = 0;
+
+    /**
+     * Snapshot the last table record describes.
+     */
+    private HitSpotSnapshot snapshot = null;
+
+    /**
+     * Title-bar height the last table record describes.
+     */
+    private double titleBarHeight = Double.NaN;
+
+    /**
+     * Creates or truncates the trace file and writes its header.
+     *
+     * @param file the trace file
+     * @throws IOException if the file cannot be created or mapped
+     */
+    HitTestRecorder(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            header = map(0, HEADER_BYTES);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putLong(8, 0);
+            chunkOffset = HEADER_BYTES;
+            chunk = map(chunkOffset, CHUNK_BYTES);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Records one hit test, preceded by a table record when the spots changed.
+     *
+     * @param snapshot         snapshot the hit was resolved against
+     * @param titleBarHeight   title-bar height the hit was resolved against
+     * @param x                x of the hit test
+     * @param y                y of the hit test
+     * @param isOnResizeBorder whether the point was on the resize border
+     * @param result           the HT code returned
+     * @throws IOException if the next region of the file cannot be mapped
+     */
+    void record(HitSpotSnapshot snapshot, double titleBarHeight, int x, int y,
+                boolean isOnResizeBorder, int result) throws IOException {
+        if (snapshot != this.snapshot || Double.compare(titleBarHeight, this.titleBarHeight) != 0) {
+            writeTable(snapshot, titleBarHeight);
+        }
+        ensure(HIT_BYTES);
+        chunk.put(HIT).putInt(x).putInt(y).put((byte) (isOnResizeBorder ? 1 : 0)).putInt(result);
+        commit(HIT_BYTES);
+    }
+
+    /**
+     * Writes a table record.
+     */
+    private void writeTable(HitSpotSnapshot snapshot, double titleBarHeight) throws IOException {
+        int count = snapshot.size();
+        int bytes = 1 + 8 + 4 + count * SPOT_BYTES;
+        ensure(bytes);
+        chunk.put(TABLE).putDouble(titleBarHeight).putInt(count);
+        HitSpotIndex index = snapshot.index();
+        for (int i = 0; i < count; i++) {
+            chunk.putDouble(index.minX(i)).putDouble(index.minY(i))
+                    .putDouble(index.maxX(i)).putDouble(index.maxY(i))
+                    .putInt(index.end(i))
+                    .putInt(snapshot.code(i))
+                    .putInt(index.isPrecise(i) ? HitTestTable.FLAG_PRECISE : 0);
+        }
+        commit(bytes);
+        this.snapshot = snapshot;
+        this.titleBarHeight = titleBarHeight;
+    }
+
+    /**
+     * Maps the next region of the file when the current one cannot hold the given bytes.
+     */
+    private void ensure(int bytes) throws IOException {
+        if (chunk.remaining() >= bytes) return;
+        chunkOffset += chunk.position();
+        chunk = map(chunkOffset, Math.max(CHUNK_BYTES, bytes));
+    }
+
+    /**
+     * Publishes the bytes just written in the header.
+     */
+    private void commit(int bytes) {
+        length += bytes;
+        header.putLong(8, length);
+    }
+
+    /**
+     * Maps a region of the trace file, growing it as needed.
+     */
+    private MappedByteBuffer map(long offset, int size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, offset, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Flushes the mapped regions and closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        chunk.force();
+        header.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replays a trace written by {@link HitTestRecorder} against the hit-test engine, without
+ * a window, a scene or a JavaFX toolkit, so hit-test regressions seen on a Windows desktop
+ * can be reproduced on any OS.
+ * <p>
+ * Every recorded table is rebuilt into a {@link HitSpotIndex}, every recorded hit is
+ * resolved again with the same rules as the window's hit test and compared with the
+ * recorded result. The hits are then replayed for the requested number of passes to
+ * report throughput and the bytes allocated by the replay thread.
+ * <p>
+ * Usage: {@code java -m nfx.core/xss.it.nfx.HitTestReplayer <trace> [passes]}.
+ * Allocation is only reported when the {@code jdk.management} module is present
+ * (add {@code --add-modules jdk.management} if needed).
+ * Precise spots are replayed on their rectangles, hits on their transparent corners
+ * show up as mismatches.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+public final class HitTestReplayer {
+    /**
+     * Passes replayed when none are given.
+     */
+    private static final int DEFAULT_PASSES = 20;
+
+    /**
+     * Recorded tables, in trace order.
+     */
+    private final List<Table> tables = new ArrayList<>();
+
+    /**
+     * Recorded hit inputs and results, one slot per hit.
+     */
+    private int[] xs = new int[1024], ys = new int[1024], results = new int[1024], tableOf = new int[1024];
+
+    /**
+     * Resize-border flag per hit.
+     */
+    private boolean[] borders = new boolean[1024];
+
+    /**
+     * Number of recorded hits.
+     */
+    private int hits = 0;
+
+    /**
+     * Number of precise spots over all tables.
+     */
+    private int preciseSpots = 0;
+
+    /**
+     * Not instantiable from outside, see {@link #main(String[])}.
+     */
+    private HitTestReplayer() {
+    }
+
+    /**
+     * Replays a trace and prints a report.
+     *
+     * @param args the trace file and, optionally, the number of timed passes
+     * @throws IOException if the trace cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: HitTestReplayer <trace> [passes]");
+            System.exit(2);
+        }
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PASSES;
+
+        HitTestReplayer replayer = new HitTestReplayer();
+        replayer.read(Path.of(args[0]));
+        System.out.printf("tables      %d (%d precise spots)%n", replayer.tables.size(), replayer.preciseSpots);
+        System.out.printf("hits        %d%n", replayer.hits);
+        System.out.printf("mismatches  %d%n", replayer.replay());
+        if (replayer.hits == 0) return;
+
+        // Warm up, then time
+        for (int i = 0; i < passes; i++) replayer.replay();
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < passes; i++) replayer.replay();
+        long elapsed = System.nanoTime() - start;
+        allocated = allocated < 0 ? -1 : allocatedBytes() - allocated;
+
+        double total = (double) replayer.hits * passes;
+        System.out.printf("throughput  %.0f hits/s (%.1f ns/hit over %d passes)%n",
+                total / (elapsed / 1e9), elapsed / total, passes);
+        System.out.println(allocated < 0 ? "allocated   n/a (jdk.management not available)"
+                : String.format("allocated   %d bytes (%.3f bytes/hit)", allocated, allocated / total));
+    }
+
+    /**
+     * Replays every recorded hit once.
+     *
+     * @return the number of results that differ from the recorded ones
+     */
+    private int replay() {
+        int mismatches = 0;
+        for (int i = 0; i < hits; i++) {
+            Table table = tables.get(tableOf[i]);
+            boolean isOnTitleBar = ys[i] < table.titleBarHeight;
+            int index = isOnTitleBar ? table.index.find(xs[i], ys[i]) : -1;
+            int result = AbstractNfxUndecoratedWindow.hitTestCode(index >= 0 ? table.codes[index] : 0,
+                    isOnTitleBar, borders[i]);
+            if (result != results[i]) mismatches++;
+        }
+        return mismatches;
+    }
+
+    /**
+     * Reads the whole trace into memory.
+     */
+    private void read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            if (in.limit() < HitTestRecorder.HEADER_BYTES || in.getInt(0) != HitTestRecorder.MAGIC) {
+                throw new IOException("Not a hit-test trace: " + file);
+            }
+            if (in.getInt(4) != HitTestRecorder.VERSION) {
+                throw new IOException("Unsupported trace version " + in.getInt(4));
+            }
+            long end = HitTestRecorder.HEADER_BYTES + in.getLong(8);
+            if (end > in.limit()) {
+                throw new IOException("Truncated trace: " + file);
+            }
+            in.limit((int) end).position(HitTestRecorder.HEADER_BYTES);
+
+            while (in.hasRemaining()) {
+                byte tag = in.get();
+                switch (tag) {
+                    case HitTestRecorder.TABLE -> readTable(in);
+                    case HitTestRecorder.HIT -> readHit(in);
+                    default -> throw new IOException("Corrupt trace, unknown record " + tag);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a table record, the tag already consumed.
+     */
+    private void readTable(MappedByteBuffer in) {
+        double titleBarHeight = in.getDouble();
+        int count = in.getInt();
+        double[] rects = new double[count * 4];
+        int[] ends = new int[count];
+        int[] codes = new int[count];
+        for (int i = 0; i < count; i++) {
+            for (int k = 0; k < 4; k++) rects[i * 4 + k] = in.getDouble();
+            ends[i] = in.getInt();
+            codes[i] = in.getInt();
+            if ((in.getInt() & HitTestTable.FLAG_PRECISE) != 0) preciseSpots++;
+        }
+        tables.add(new Table(new HitSpotIndex(rects, ends), codes, titleBarHeight));
+    }
+
+    /**
+     * Reads a hit record, the tag already consumed.
+     */
+    private void readHit(MappedByteBuffer in) throws IOException {
+        if (tables.isEmpty()) {
+            throw new IOException("Corrupt trace, hit before any table");
+        }
+        if (hits == xs.length) {
+            int n = hits * 2;
+            xs = Arrays.copyOf(xs, n);
+            ys = Arrays.copyOf(ys, n);
+            results = Arrays.copyOf(results, n);
+            tableOf = Arrays.copyOf(tableOf, n);
+            borders = Arrays.copyOf(borders, n);
+        }
+        xs[hits] = in.getInt();
+        ys[hits] = in.getInt();
+        borders[hits] = in.get() != 0;
+        results[hits] = in.getInt();
+        tableOf[hits] = tables.size() - 1;
+        hits++;
+    }
+
+    /**
+     * Gets the bytes allocated so far by the current thread, or -1 when not measurable.
+     */
+    static long allocatedBytes() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported()) {
+                return bean.getCurrentThreadAllocatedBytes();
+            }
+        } catch (LinkageError e) {
+            // jdk.management is not part of the runtime image
+        }
+        return -1;
+    }
+
+    /**
+     * A recorded table rebuilt for lookups.
+     */
+    private static final class Table {
+        /**
+         * Index over the recorded rectangles.
+         */
+        private final HitSpotIndex index;
+
+        /**
+         * HT code per spot.
+         */
+        private final int[] codes;
+
+        /**
+         * Title-bar height the hits were resolved against.
+         */
+        private final double titleBarHeight;
+
+        /**
+         * Creates a table.
+         */
+        private Table(HitSpotIndex index, int[] codes, double titleBarHeight) {
+            this.index = index;
+            this.codes = codes;
+            this.titleBarHeight = titleBarHeight;
+        }
+    }
+}
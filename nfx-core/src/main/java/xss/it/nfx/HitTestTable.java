@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Hit-spot table shared with the native window procedure through a direct {@link ByteBuffer}.
+ * <p>
+ * The native side resolves {@code WM_NCHITTEST} straight from this table and only calls
+ * back into Java when the hovered spot changes. The layout must match
+ * {@code src/native/src/utils/HitTable.h}; all values use the platform byte order:
+ * <pre>
+ *  offset  size  field
+ *  0       4     generation     (odd while the table is being written)
+ *  4       4     count
+ *  8       8     titleBarHeight (DIP)
+ *  16      80*n  entries in tree pre-order:
+ *                  0   minX, minY, maxX, maxY          (double, DIP, inclusive)
+ *                  32  subtree minX, minY, maxX, maxY  (double, DIP, inclusive)
+ *                  64  code (int), end (int, exclusive subtree end), flags (int), reserved (int)
+ * </pre>
+ * Lookups follow {@link HitSpotIndex}: the innermost spot wins, the first sibling wins.
+ * Precise spots are flagged with {@link #FLAG_PRECISE}; the native side cannot test their
+ * shape and hands such hits back to Java.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+final class HitTestTable {
+    /**
+     * Header size in bytes.
+     */
+    static final int HEADER_BYTES = 16;
+
+    /**
+     * Entry size in bytes.
+     */
+    static final int ENTRY_BYTES = 80;
+
+    /**
+     * Entry flag marking a precise spot.
+     */
+    static final int FLAG_PRECISE = 1;
+
+    /**
+     * Volatile view used for the generation counter.
+     */
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    /**
+     * The shared buffer.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Last published generation, always even.
+     */
+    private int generation = 0;
+
+    /**
+     * Snapshot the table currently describes.
+     */
+    private HitSpotSnapshot snapshot = HitSpotSnapshot.EMPTY;
+
+    /**
+     * Creates a table with room for a few spots.
+     */
+    HitTestTable() {
+        buffer = allocate(8);
+    }
+
+    /**
+     * Writes the snapshot into the table.
+     * <p>
+     * The generation is made odd while the entries are written and bumped to the next even
+     * value afterwards, so a native reader can detect and retry a torn read. If the snapshot
+     * does not fit, a bigger buffer is allocated and must be handed to the native side again.
+     *
+     * @param snapshot       the snapshot to publish
+     * @param titleBarHeight the title-bar height in DIP
+     * @return true if the buffer was replaced
+     */
+    boolean publish(HitSpotSnapshot snapshot, double titleBarHeight) {
+        int count = snapshot.size();
+        boolean replaced = false;
+        if (HEADER_BYTES + count * ENTRY_BYTES > buffer.capacity()) {
+            buffer = allocate(Math.max(count, buffer.capacity() / ENTRY_BYTES * 2));
+            replaced = true;
+        }
+
+        INT.setVolatile(buffer, 0, generation + 1);
+        write(buffer, snapshot.index(), snapshot::code, titleBarHeight);
+        generation += 2;
+        INT.setVolatile(buffer, 0, generation);
+
+        this.snapshot = snapshot;
+        return replaced;
+    }
+
+    /**
+     * Writes the count, the title-bar height and the entries, everything but the generation.
+     * The buffer must have room for every entry.
+     *
+     * @param buffer         the table buffer, in the byte order the reader expects
+     * @param index          the spots, in tree pre-order
+     * @param codes          the HT code of each spot
+     * @param titleBarHeight the title-bar height in DIP
+     */
+    static void write(ByteBuffer buffer, HitSpotIndex index, IntUnaryOperator codes, double titleBarHeight) {
+        int count = index.size();
+        buffer.putInt(4, count);
+        buffer.putDouble(8, titleBarHeight);
+        for (int i = 0; i < count; i++) {
+            int o = HEADER_BYTES + i * ENTRY_BYTES;
+            buffer.putDouble(o, index.minX(i));
+            buffer.putDouble(o + 8, index.minY(i));
+            buffer.putDouble(o + 16, index.maxX(i));
+            buffer.putDouble(o + 24, index.maxY(i));
+            for (int k = 0; k < 4; k++) {
+                buffer.putDouble(o + 32 + k * 8, index.subtreeBound(i, k));
+            }
+            buffer.putInt(o + 64, codes.applyAsInt(i));
+            buffer.putInt(o + 68, index.end(i));
+            buffer.putInt(o + 72, index.isPrecise(i) ? FLAG_PRECISE : 0);
+            buffer.putInt(o + 76, 0);
+        }
+    }
+
+    /**
+     * Bumps the generation without changing the entries, so the native side reports the
+     * spot under the pointer again on the next hit test (used after Java cleared the hover).
+     */
+    void touch() {
+        generation += 2;
+        INT.setVolatile(buffer, 0, generation);
+    }
+
+    /**
+     * Gets the shared buffer.
+     *
+     * @return the direct buffer
+     */
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Gets the last published generation.
+     *
+     * @return the generation
+     */
+    int generation() {
+        return generation;
+    }
+
+    /**
+     * Gets the snapshot the table currently describes.
+     *
+     * @return the snapshot
+     */
+    HitSpotSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Allocates a direct buffer for the given number of entries.
+     */
+    private static ByteBuffer allocate(int entries) {
+        return ByteBuffer.allocateDirect(HEADER_BYTES + entries * ENTRY_BYTES).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.stage.Window;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The Win32 library. The native methods stay declared on {@link NfxUtil} and
+ * {@link AbstractNfxUndecoratedWindow}, where the library binds them, and the library calls
+ * the window back directly, so the {@link WindowCallbacks} given to {@link #install} are unused.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+final class JniBackend implements NfxBackend {
+    /**
+     * The only instance, the library is loaded once per JVM.
+     */
+    static final JniBackend INSTANCE = new JniBackend();
+
+    /**
+     * Not instantiable from outside, see {@link #INSTANCE}.
+     */
+    private JniBackend() {
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return NfxUtil.isWindows();
+    }
+
+    @Override
+    public CompletableFuture<Void> preload() {
+        return NfxUtil.preloadAsync();
+    }
+
+    @Override
+    public long windowHandle(Window window) {
+        NfxUtil.awaitLibrary();
+        return NfxUtil.getNativeHandle(window);
+    }
+
+    @Override
+    public int applyAttributes(long hWnd, int mask, int titleBar, int caption, int corner, int border) {
+        return NfxUtil.applyAttributes(hWnd, mask, titleBar, caption, corner, border);
+    }
+
+    @Override
+    public void focusWindow(String title) {
+        NfxUtil.awaitLibrary();
+        NfxUtil.focusWindow(title);
+    }
+
+    @Override
+    public void install(AbstractNfxUndecoratedWindow window, long hWnd, WindowCallbacks callbacks) {
+        window.install(hWnd);
+    }
+
+    @Override
+    public void uninstall(AbstractNfxUndecoratedWindow window, long hWnd) {
+        window.uninstall(hWnd);
+    }
+
+    @Override
+    public void update(AbstractNfxUndecoratedWindow window, long hWnd, boolean maximized, boolean fullScreen) {
+        window.update(hWnd, maximized, fullScreen);
+    }
+
+    @Override
+    public void mirrorState(AbstractNfxUndecoratedWindow window, long hWnd, boolean maximized, boolean fullScreen) {
+        window.mirrorState(hWnd, maximized, fullScreen);
+    }
+
+    @Override
+    public void setHitTable(AbstractNfxUndecoratedWindow window, long hWnd, ByteBuffer table) {
+        window.setHitTable(hWnd, table);
+    }
+
+    @Override
+    public void hideFromTaskBar(AbstractNfxUndecoratedWindow window, long hWnd, boolean hide) {
+        window.hideFromTaskBar(hWnd, hide);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Finds the native library file to load.
+ * <p>
+ * A library installed next to the application is used as is, without extraction: the
+ * directories listed in the {@code nfx.library.path} property first, then the {@code bin} and
+ * {@code lib} directories of the runtime image, where jlink and jpackage put native libraries.
+ * {@code java.library.path} is not searched, it usually holds the working directory and
+ * {@code PATH}, where any same-named file would win. An installed library is also only used
+ * when its SHA-256 matches the bundled one, so a stale copy is skipped; when no library is
+ * bundled, the installed one is used as is.
+ * <p>
+ * Otherwise the library bundled as a resource is extracted to a cache directory named after
+ * the SHA-256 of its content, so a stale library is never reused and an existing file is only
+ * trusted when its content hash matches. Extraction goes to a temporary file that is then atomically
+ * renamed, under a file lock, so several JVMs starting at once neither race nor ever load a
+ * partially written library.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+final class NativeLoader {
+    /**
+     * Hex digits of the content hash used to name the cache directory.
+     */
+    private static final int HASH_DIGITS = 16;
+
+    /**
+     * Name of the lock file inside the cache directory.
+     */
+    private static final String LOCK_FILE = ".lock";
+
+    /**
+     * Property listing extra directories searched for an installed library.
+     */
+    static final String LIBRARY_PATH_PROPERTY = "nfx.library.path";
+
+    /**
+     * Not instantiable.
+     */
+    private NativeLoader() {
+    }
+
+    /**
+     * Resolves the library file, extracting the bundled one only when it is not installed.
+     *
+     * @param libName   file name of the library
+     * @param resource  resource path of the bundled library
+     * @param owner     class whose loader finds the resource
+     * @param cacheRoot directory holding the extracted libraries
+     * @return the absolute path of the library to load
+     * @throws IOException if the library is neither installed nor bundled, or cannot be extracted
+     */
+    static Path resolve(String libName, String resource, Class<?> owner, Path cacheRoot) throws IOException {
+        byte[] bundled = hash(owner, resource);
+        Path installed = findInstalled(libName, bundled);
+        if (installed != null) {
+            return installed;
+        }
+        if (bundled == null) {
+            throw new IOException("Native library resource not found: " + resource);
+        }
+        return extract(libName, resource, owner, cacheRoot, bundled);
+    }
+
+    /**
+     * Looks for the library in the {@code nfx.library.path} directories and in the runtime image.
+     *
+     * @param libName  file name of the library
+     * @param expected SHA-256 a candidate must have, or null to take the first one found
+     * @return the library, or null if it is not installed
+     */
+    static Path findInstalled(String libName, byte[] expected) {
+        for (Path dir : searchPath()) {
+            Path candidate = dir.resolve(libName);
+            if (Files.isRegularFile(candidate) && matches(candidate, expected)) {
+                return candidate.toAbsolutePath();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the directories searched for an installed library, in order.
+     */
+    private static List<Path> searchPath() {
+        List<Path> dirs = new ArrayList<>();
+        String libraryPath = System.getProperty(LIBRARY_PATH_PROPERTY, "");
+        for (String dir : libraryPath.split(File.pathSeparator)) {
+            if (!dir.isBlank()) {
+                try {
+                    dirs.add(Path.of(dir));
+                } catch (RuntimeException e) {
+                    // malformed entry, skip it
+                }
+            }
+        }
+        String javaHome = System.getProperty("java.home");
+        if (javaHome != null) {
+            dirs.add(Path.of(javaHome, "bin"));
+            dirs.add(Path.of(javaHome, "lib"));
+        }
+        return dirs;
+    }
+
+    /**
+     * Checks whether a candidate has the expected content, any candidate does without one.
+     */
+    private static boolean matches(Path candidate, byte[] expected) {
+        if (expected == null) {
+            return true;
+        }
+        try (InputStream in = Files.newInputStream(candidate)) {
+            return MessageDigest.isEqual(expected, hash(in));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Hashes the bundled library.
+     *
+     * @return the SHA-256, or null when no library is bundled
+     */
+    private static byte[] hash(Class<?> owner, String resource) throws IOException {
+        try (InputStream in = owner.getResourceAsStream(resource)) {
+            return in == null ? null : hash(in);
+        }
+    }
+
+    /**
+     * Hashes a stream to its end.
+     */
+    private static byte[] hash(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        try (DigestInputStream hashing = new DigestInputStream(in, digest)) {
+            hashing.transferTo(OutputStream.nullOutputStream());
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Extracts the bundled library to its content-hashed cache directory, unless it is there.
+     */
+    private static Path extract(String libName, String resource, Class<?> owner, Path cacheRoot,
+                                byte[] bundled) throws IOException {
+        String hash = HexFormat.of().formatHex(bundled).substring(0, HASH_DIGITS);
+        Path dir = cacheRoot.resolve(hash);
+        Path target = dir.resolve(libName);
+        if (isComplete(target, bundled)) {
+            return target.toAbsolutePath();
+        }
+
+        Files.createDirectories(dir);
+        // the channel lock is per process, the monitor keeps threads of this JVM out of each other's way
+        synchronized (NativeLoader.class) {
+            try (FileChannel lockChannel = FileChannel.open(dir.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    if (!isComplete(target, bundled)) {
+                        write(owner, resource, dir, target, bundled);
+                    }
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+        return target.toAbsolutePath();
+    }
+
+    /**
+     * Copies the resource to a temporary file and renames it to the target.
+     */
+    private static void write(Class<?> owner, String resource, Path dir, Path target, byte[] bundled) throws IOException {
+        Path temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            try (InputStream in = open(owner, resource);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                out.transferFrom(Channels.newChannel(in), 0, Long.MAX_VALUE);
+                out.force(true);
+            }
+            if (!matches(temp, bundled)) {
+                throw new IOException("Resource " + resource + " changed while extracting it");
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Checks whether an extracted library is present with the expected content.
+     */
+    private static boolean isComplete(Path file, byte[] bundled) {
+        return Files.isRegularFile(file) && matches(file, bundled);
+    }
+
+    /**
+     * Opens the bundled library.
+     */
+    private static InputStream open(Class<?> owner, String resource) throws IOException {
+        InputStream in = owner.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException("Native library resource not found: " + resource);
+        }
+        return in;
+    }
+
+    /**
+     * Creates a SHA-256 digest, always available on a Java platform.
+     */
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
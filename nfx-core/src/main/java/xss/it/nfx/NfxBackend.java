@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.stage.Window;
+
+import java.nio.ByteBuffer;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Every operation nfx performs on the native window, behind one interface so the window
+ * logic runs unchanged on top of the Win32 library or of an in-process simulation.
+ * <p>
+ * The backend is chosen once per JVM, see {@link #current()}:
+ * <ul>
+ *     <li>{@code -Dnfx.backend=simulated} selects {@link SimulatedBackend};</li>
+ *     <li>{@code -Dnfx.backend=jni} selects the Win32 library;</li>
+ *     <li>otherwise the first available provider registered with {@link ServiceLoader},
+ *     falling back to the Win32 library.</li>
+ * </ul>
+ * When the backend is not available (the Win32 library off Windows 10), windows behave as
+ * plain JavaFX stages and no method but {@link #isAvailable()} is called.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+public interface NfxBackend {
+
+    /**
+     * Checks whether the backend can drive windows on this platform.
+     *
+     * @return true if the other methods may be called
+     */
+    boolean isAvailable();
+
+    /**
+     * Starts whatever loading the backend needs ahead of the first window.
+     *
+     * @return a future completed once the backend is ready
+     */
+    default CompletableFuture<Void> preload() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Gets the native handle of a shown window.
+     *
+     * @param window the window
+     * @return the handle, or 0 if the window has none yet
+     */
+    long windowHandle(Window window);
+
+    /**
+     * Applies the DWM attributes flagged in the mask, see {@link NfxUtil}.
+     *
+     * @param hWnd     the window handle
+     * @param mask     bits ({@code 1 << slot}) of the attributes to apply
+     * @param titleBar the title bar COLORREF
+     * @param caption  the caption text COLORREF
+     * @param corner   the corner preference
+     * @param border   the border COLORREF
+     * @return the bits of the attributes applied successfully
+     */
+    int applyAttributes(long hWnd, int mask, int titleBar, int caption, int corner, int border);
+
+    /**
+     * Restores and focuses the top-level window with the given title.
+     *
+     * @param title the window title
+     */
+    void focusWindow(String title);
+
+    /**
+     * Takes over the window procedure of an undecorated window.
+     *
+     * @param window    the window
+     * @param hWnd      the window handle
+     * @param callbacks the window side of the hit test and of the native notifications
+     */
+    void install(AbstractNfxUndecoratedWindow window, long hWnd, WindowCallbacks callbacks);
+
+    /**
+     * Gives the window procedure back, releasing everything {@link #install} set up.
+     *
+     * @param window the window
+     * @param hWnd   the window handle
+     */
+    void uninstall(AbstractNfxUndecoratedWindow window, long hWnd);
+
+    /**
+     * Recomputes the frame of the window for its state.
+     *
+     * @param window     the window
+     * @param hWnd       the window handle
+     * @param maximized  whether the window is maximized
+     * @param fullScreen whether the window is in full-screen mode
+     */
+    void update(AbstractNfxUndecoratedWindow window, long hWnd, boolean maximized, boolean fullScreen);
+
+    /**
+     * Mirrors the window state, answered later without calling back into Java.
+     *
+     * @param window     the window
+     * @param hWnd       the window handle
+     * @param maximized  whether the window is maximized
+     * @param fullScreen whether the window is in full-screen mode
+     */
+    void mirrorState(AbstractNfxUndecoratedWindow window, long hWnd, boolean maximized, boolean fullScreen);
+
+    /**
+     * Hands over the shared hit-spot table, or detaches it so every hit test calls back.
+     *
+     * @param window the window
+     * @param hWnd   the window handle
+     * @param table  direct buffer in the layout of {@code HitTable.h}, or null
+     */
+    void setHitTable(AbstractNfxUndecoratedWindow window, long hWnd, ByteBuffer table);
+
+    /**
+     * Shows or hides the window in the taskbar.
+     *
+     * @param window the window
+     * @param hWnd   the window handle
+     * @param hide   true to hide the window from the taskbar
+     */
+    void hideFromTaskBar(AbstractNfxUndecoratedWindow window, long hWnd, boolean hide);
+
+    /**
+     * Gets the backend of this JVM, chosen on first use.
+     *
+     * @return the backend
+     */
+    static NfxBackend current() {
+        return BackendSelector.BACKEND;
+    }
+
+    /**
+     * The window side of the native window procedure, called back on the FX thread.
+     */
+    interface WindowCallbacks {
+        /**
+         * Resolves a non-client hit test.
+         *
+         * @param x                x in client coordinates (DIP)
+         * @param y                y in client coordinates (DIP)
+         * @param isOnResizeBorder whether the point is on the top resize border
+         * @return the HT code
+         */
+        int hitTest(int x, int y, boolean isOnResizeBorder);
+
+        /**
+         * Reports that the pointer moved to another spot of the hit table.
+         *
+         * @param index      the spot now under the pointer, or -1
+         * @param generation the table generation the index refers to
+         */
+        void hoverChanged(int index, int generation);
+
+        /**
+         * Reports a change the window must redraw its background for.
+         */
+        void stateChanged();
+
+        /**
+         * Reports that the pointer left the window.
+         */
+        void mouseLeft();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a hit-spot snapshot rebuild and its publication to the
+ * native table.
+ * Nothing is allocated unless the event is enabled in the running recording.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+@Name("xss.it.nfx.NfxHitSpotRebuild")
+@Label("NFX Hit Spot Rebuild")
+@Category({"NFX", "Hit Test"})
+@Description("Hit-spot snapshot rebuilt and published to the native hit table")
+@StackTrace(false)
+final class NfxHitSpotRebuildEvent extends Event {
+    /**
+     * Registered type, checked before creating an event.
+     */
+    private static final EventType TYPE = EventType.getEventType(NfxHitSpotRebuildEvent.class);
+
+    /**
+     * Number of spots in the new snapshot.
+     */
+    @Label("Spot Count")
+    int spotCount;
+
+    /**
+     * True when the spot list was re-read, false when only the geometry was refreshed.
+     */
+    @Label("Full Rebuild")
+    boolean full;
+
+    /**
+     * True when the native table had to be reallocated and handed over again.
+     */
+    @Label("Table Reallocated")
+    boolean tableReallocated;
+
+    /**
+     * Starts timing a rebuild.
+     *
+     * @return the started event, or null when the event is disabled
+     */
+    static NfxHitSpotRebuildEvent start() {
+        if (!TYPE.isEnabled()) return null;
+        NfxHitSpotRebuildEvent event = new NfxHitSpotRebuildEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes and commits a rebuild event.
+     *
+     * @param event            the event returned by {@link #start()}, may be null
+     * @param spotCount        number of spots in the new snapshot
+     * @param full             whether the spot list was re-read
+     * @param tableReallocated whether the native table was reallocated
+     */
+    static void finish(NfxHitSpotRebuildEvent event, int spotCount, boolean full, boolean tableReallocated) {
+        if (event == null) return;
+        event.spotCount = spotCount;
+        event.full = full;
+        event.tableReallocated = tableReallocated;
+        event.commit();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a hit test resolved in Java.
+ * <p>
+ * Hit tests answered from the native table never reach Java and are not recorded.
+ * Nothing is allocated unless the event is enabled in the running recording.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+@Name("xss.it.nfx.NfxHitTest")
+@Label("NFX Hit Test")
+@Category({"NFX", "Hit Test"})
+@Description("Non-client hit test resolved by the Java hit-spot engine")
+@StackTrace(false)
+final class NfxHitTestEvent extends Event {
+    /**
+     * Registered type, checked before creating an event.
+     */
+    private static final EventType TYPE = EventType.getEventType(NfxHitTestEvent.class);
+
+    /**
+     * X of the hit test, DIP.
+     */
+    @Label("X")
+    int x;
+
+    /**
+     * Y of the hit test, DIP.
+     */
+    @Label("Y")
+    int y;
+
+    /**
+     * Number of spots in the snapshot the hit was resolved against.
+     */
+    @Label("Spot Count")
+    int spotCount;
+
+    /**
+     * HT code returned to the window procedure.
+     */
+    @Label("Result Code")
+    int resultCode;
+
+    /**
+     * Starts timing a hit test.
+     *
+     * @return the started event, or null when the event is disabled
+     */
+    static NfxHitTestEvent start() {
+        if (!TYPE.isEnabled()) return null;
+        NfxHitTestEvent event = new NfxHitTestEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes and commits a hit-test event.
+     *
+     * @param event      the event returned by {@link #start()}, may be null
+     * @param x          x of the hit test
+     * @param y          y of the hit test
+     * @param spotCount  number of spots searched
+     * @param resultCode HT code returned
+     */
+    static void finish(NfxHitTestEvent event, int x, int y, int spotCount, int resultCode) {
+        if (event == null) return;
+        event.x = x;
+        event.y = y;
+        event.spotCount = spotCount;
+        event.resultCode = resultCode;
+        event.commit();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a native call across the JNI bridge: window procedure install
+ * and uninstall, state updates, hit-table hand-over and DWM attribute setters.
+ * Nothing is allocated unless the event is enabled in the running recording.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+@Name("xss.it.nfx.NfxNativeCall")
+@Label("NFX Native Call")
+@Category({"NFX", "Native"})
+@Description("Call from Java into the nfx native library")
+@StackTrace(false)
+final class NfxNativeCallEvent extends Event {
+    /**
+     * Registered type, checked before creating an event.
+     */
+    private static final EventType TYPE = EventType.getEventType(NfxNativeCallEvent.class);
+
+    /**
+     * Name of the native method.
+     */
+    @Label("Call")
+    String call;
+
+    /**
+     * Window handle the call targets.
+     */
+    @Label("Window Handle")
+    long hWnd;
+
+    /**
+     * Starts timing a native call.
+     *
+     * @param call name of the native method
+     * @param hWnd window handle the call targets
+     * @return the started event, or null when the event is disabled
+     */
+    static NfxNativeCallEvent start(String call, long hWnd) {
+        if (!TYPE.isEnabled()) return null;
+        NfxNativeCallEvent event = new NfxNativeCallEvent();
+        event.call = call;
+        event.hWnd = hWnd;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes and commits a native-call event.
+     *
+     * @param event the event returned by {@link #start(String, long)}, may be null
+     */
+    static void finish(NfxNativeCallEvent event) {
+        if (event != null) event.commit();
+    }
+}
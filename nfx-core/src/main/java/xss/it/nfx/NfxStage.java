@@ -47,6 +47,11 @@ public abstract class NfxStage extends AbstractNfxUndecoratedWindow {
      */
     private final List<Region> hitRegions = new CopyOnWriteArrayList<>();
 
+    /**
+     *  Caption (drag) regions that participate in hit testing; updated on the FX thread.
+     */
+    private final List<Region> captionRegions = new CopyOnWriteArrayList<>();
+
     /**
      * Cached HitSpots for window controls: close, maximize/restore, and minimize (built once, reused).
      */
@@ -72,6 +77,11 @@ public abstract class NfxStage extends AbstractNfxUndecoratedWindow {
      */
     private final Map<Region, HitSpot> regionSpotCache = new IdentityHashMap<>();
 
+    /**
+     * Cache mapping each caption Region to its single HitSpot instance.
+     */
+    private final Map<Region, HitSpot> captionSpotCache = new IdentityHashMap<>();
+
     /**
      * Mouse click handlers for the window controls; kept so they can be removed on reassignment.
      */
@@ -130,6 +140,41 @@ public abstract class NfxStage extends AbstractNfxUndecoratedWindow {
         }
     }
 
+    /**
+     * Adds one or more caption regions that drag the window like the title bar.
+     * <p>
+     * Regions are matched against each other by scene-graph containment: a client area,
+     * caption area or window control nested inside a caption region takes precedence over
+     * it, so a container can be registered as a drag zone while its interactive children
+     * stay clickable, independent of registration order. Call from the JavaFX Application Thread.
+     *
+     * @param areas one or more regions to register as caption areas
+     */
+    protected void addCaptionAreas(Region... areas){
+        for (Region area : areas) {
+            if (!captionRegions.contains(area)) {
+                captionRegions.add(area);
+                captionSpotFor(area);
+                spotsDirty = true;
+            }
+        }
+    }
+
+    /**
+     * Removes one or more caption regions from custom hit testing.
+     * Matching is by identity. Call from the JavaFX Application Thread.
+     *
+     * @param areas regions to remove
+     */
+    protected void removeCaptionAreas(Region... areas){
+        for (Region area : areas) {
+            if (captionRegions.remove(area)) {
+                captionSpotCache.remove(area);
+                spotsDirty = true;
+            }
+        }
+    }
+
     /**
      * Assigns the control that acts as the Close button in the custom title bar.
      * <p>
@@ -261,19 +306,23 @@ public abstract class NfxStage extends AbstractNfxUndecoratedWindow {
 
     /**
      * Rebuilds the immutable HitSpot snapshot if marked dirty.
-     * Collects cached region spots (preserving hitRegions order) and the
-     * close/maximize/minimize spots, then publishes a new unmodifiable list
-     * to hitSpotsSnapshot and clears the dirty flag.
+     * Collects cached region spots (preserving hitRegions order), the caption
+     * spots and the close/maximize/minimize spots, then publishes a new unmodifiable
+     * list to hitSpotsSnapshot and clears the dirty flag. Nesting between the regions
+     * is resolved later by the window's hit-test tree, not by this order.
      * Intended to run on the FX thread; the volatile snapshot supports
      * lock-free reads on the hot path.
      */
     private void rebuildHitSpotsSnapshotIfNeeded() {
         if (!spotsDirty) return;
 
-        var list = new ArrayList<HitSpot>(hitRegions.size() + 3);
+        var list = new ArrayList<HitSpot>(hitRegions.size() + captionRegions.size() + 3);
         for (Region r : hitRegions) {
             list.add(spotFor(r));       // <-- and here
         }
+        for (Region r : captionRegions) {
+            list.add(captionSpotFor(r));
+        }
         if (clHt != null) list.add(clHt);
         if (mxHt != null) list.add(mxHt);
         if (miHt != null) list.add(miHt);
@@ -308,4 +357,19 @@ public abstract class NfxStage extends AbstractNfxUndecoratedWindow {
         });
     }
 
+    /**
+     * Returns the cached caption {@link HitSpot} for the given {@link Region}, creating and
+     * caching it on first use. Call on the JavaFX Application Thread.
+     *
+     * @param r the caption region (non-null)
+     * @return the cached or newly created caption {@code HitSpot} for {@code r}
+     */
+    private HitSpot captionSpotFor(Region r) {
+        return captionSpotCache.computeIfAbsent(r, rr -> HitSpot.builder()
+                .window(this)
+                .caption(true)
+                .control(rr)
+                .build());
+    }
+
 }
@@ -0,0 +1,449 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.stage.WindowEvent;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps pre-built, hidden {@link NfxStage} instances ready for dialog-heavy applications.
+ * <p>
+ * Building a stage (FXML, scene, CSS, hit spots) is done ahead of time by {@link #prewarm()}
+ * and whenever the pool runs dry; {@link #acquire()} then hands out a ready instance. When an
+ * acquired stage is hidden it is reset and returned to the pool, unless {@code maxIdle}
+ * stages are already waiting, in which case it is dropped. Stages idle for longer than the
+ * idle timeout are evicted, down to {@code minIdle}.
+ * <p>
+ * The native side (window procedure, DWM attributes) only exists while a stage is shown and
+ * is set up on every show, so pooled stages hold no native resources. The pool works the same
+ * with every {@link NfxBackend}, {@link SimulatedBackend} included.
+ * <p>
+ * Use on the JavaFX Application Thread only.
+ *
+ * <pre>{@code
+ * NfxStagePool<SettingsDialog> dialogs = NfxStagePool.builder(SettingsDialog::new)
+ *         .minIdle(1)
+ *         .maxIdle(3)
+ *         .idleTimeout(Duration.ofMinutes(2))
+ *         .reset(SettingsDialog::clearForm)
+ *         .build();
+ * dialogs.prewarm();
+ * dialogs.acquire().show();
+ * }</pre>
+ *
+ * @param <S> the stage type
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+public final class NfxStagePool<S extends NfxStage> {
+    /**
+     * Wakes the pools up when an idle stage expires, a timer would keep pulses running.
+     * Cancelled evictions leave its queue right away, so they never pile up.
+     */
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    /**
+     * Creates a new stage.
+     */
+    private final Supplier<? extends S> factory;
+
+    /**
+     * Prepares a returned stage for its next use.
+     */
+    private final Consumer<? super S> reset;
+
+    /**
+     * Number of idle stages kept warm, eviction never goes below it.
+     */
+    private final int minIdle;
+
+    /**
+     * Maximum number of idle stages, stages returned beyond it are dropped.
+     */
+    private final int maxIdle;
+
+    /**
+     * Idle time after which a stage above {@code minIdle} is evicted.
+     */
+    private final Duration idleTimeout;
+
+    /**
+     * Idle stages, most recently returned first.
+     */
+    private final Deque<Idle<S>> idle = new ArrayDeque<>();
+
+    /**
+     * Next eviction, pending only while stages above {@code minIdle} are idle.
+     */
+    private ScheduledFuture<?> eviction;
+
+    /**
+     * {@link System#nanoTime()} at which {@link #eviction} runs.
+     */
+    private long evictionAt;
+
+    /**
+     * Stages created so far.
+     */
+    private int created = 0;
+
+    /**
+     * Acquisitions served from an idle stage.
+     */
+    private int reused = 0;
+
+    /**
+     * Idle stages dropped, by eviction, overflow or {@link #clear()}.
+     */
+    private int evicted = 0;
+
+    /**
+     * Creates a pool from its builder.
+     *
+     * @param builder the builder
+     */
+    private NfxStagePool(Builder<S> builder) {
+        this.factory = builder.factory;
+        this.reset = builder.reset;
+        this.minIdle = builder.minIdle;
+        this.maxIdle = builder.maxIdle;
+        this.idleTimeout = builder.idleTimeout;
+    }
+
+    /**
+     * Builds stages until {@code minIdle} of them are idle.
+     */
+    public void prewarm() {
+        while (idle.size() < minIdle) {
+            idle.push(new Idle<>(create(), System.nanoTime()));
+        }
+    }
+
+    /**
+     * Hands out an idle stage, or a new one when none is idle. The stage is returned to the
+     * pool when it is hidden.
+     *
+     * @return a hidden stage ready to be shown
+     */
+    public S acquire() {
+        Idle<S> entry = idle.poll();
+        S stage;
+        if (entry != null) {
+            reused++;
+            stage = entry.stage;
+        } else {
+            stage = create();
+        }
+        stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, new EventHandler<>() {
+            @Override
+            public void handle(WindowEvent event) {
+                stage.removeEventHandler(WindowEvent.WINDOW_HIDDEN, this);
+                release(stage);
+            }
+        });
+        scheduleEviction();
+        return stage;
+    }
+
+    /**
+     * Evicts the stages idle for longer than the idle timeout, keeping {@code minIdle}.
+     * Called when the oldest idle stage expires, callable directly to evict at a known time.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long timeout = idleTimeout.toNanos();
+        // oldest last, so they go first
+        Iterator<Idle<S>> it = idle.descendingIterator();
+        while (it.hasNext() && idle.size() > minIdle) {
+            if (now - it.next().since >= timeout) {
+                it.remove();
+                evicted++;
+            }
+        }
+        scheduleEviction();
+    }
+
+    /**
+     * Drops every idle stage. Stages still in use come back to the pool when hidden.
+     */
+    public void clear() {
+        evicted += idle.size();
+        idle.clear();
+        scheduleEviction();
+    }
+
+    /**
+     * Gets the number of idle stages.
+     *
+     * @return the idle count
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Gets the number of stages created so far.
+     *
+     * @return the created count
+     */
+    public int getCreatedCount() {
+        return created;
+    }
+
+    /**
+     * Gets the number of acquisitions served from an idle stage.
+     *
+     * @return the reuse count
+     */
+    public int getReuseCount() {
+        return reused;
+    }
+
+    /**
+     * Gets the number of idle stages dropped so far.
+     *
+     * @return the eviction count
+     */
+    public int getEvictedCount() {
+        return evicted;
+    }
+
+    /**
+     * Takes a hidden stage back, reset, unless the pool is full.
+     *
+     * @param stage the stage
+     */
+    private void release(S stage) {
+        if (idle.size() >= maxIdle) {
+            evicted++;
+            return;
+        }
+        reset.accept(stage);
+        idle.push(new Idle<>(stage, System.nanoTime()));
+        scheduleEviction();
+    }
+
+    /**
+     * Creates a stage and builds what can be built while hidden: CSS, layout and hit spots.
+     *
+     * @return the stage
+     */
+    private S create() {
+        S stage = Objects.requireNonNull(factory.get(), "factory returned null");
+        created++;
+        Scene scene = stage.getScene();
+        if (scene != null && scene.getRoot() != null) {
+            scene.getRoot().applyCss();
+            scene.getRoot().layout();
+        }
+        stage.getHitSpots();
+        return stage;
+    }
+
+    /**
+     * Schedules the eviction for when the oldest idle stage expires, only while some stage
+     * above {@code minIdle} is idle.
+     */
+    private void scheduleEviction() {
+        boolean due = idle.size() > minIdle;
+        long at = due ? idle.peekLast().since + idleTimeout.toNanos() : 0;
+        if (eviction != null) {
+            // the oldest idle stage did not change, the pending eviction still fits
+            if (due && at == evictionAt && !eviction.isDone()) return;
+            eviction.cancel(false);
+            eviction = null;
+        }
+        if (due) {
+            evictionAt = at;
+            eviction = TIMER.schedule(() -> Platform.runLater(this::evictIdle),
+                    Math.max(0, at - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Gets the number of evictions waiting in the shared timer, for all pools.
+     *
+     * @return the pending eviction count
+     */
+    static int getPendingEvictionCount() {
+        return TIMER.getQueue().size();
+    }
+
+    /**
+     * Creates the shared timer: one daemon thread, cancelled tasks removed at once.
+     */
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "nfx-stage-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Starts building a pool.
+     *
+     * @param factory creates a new stage, called on the JavaFX Application Thread
+     * @param <S>     the stage type
+     * @return a new builder
+     */
+    public static <S extends NfxStage> Builder<S> builder(Supplier<? extends S> factory) {
+        return new Builder<>(Objects.requireNonNull(factory, "factory"));
+    }
+
+    /**
+     * An idle stage and when it became idle.
+     *
+     * @param <S> the stage type
+     */
+    private static final class Idle<S> {
+        /**
+         * The stage.
+         */
+        private final S stage;
+
+        /**
+         * {@link System#nanoTime()} when the stage became idle.
+         */
+        private final long since;
+
+        /**
+         * Creates an entry.
+         *
+         * @param stage the stage
+         * @param since when the stage became idle
+         */
+        private Idle(S stage, long since) {
+            this.stage = stage;
+            this.since = since;
+        }
+    }
+
+    /**
+     * Builder for {@link NfxStagePool}.
+     *
+     * @param <S> the stage type
+     */
+    public final static class Builder<S extends NfxStage> {
+        /**
+         * Creates a new stage.
+         */
+        private final Supplier<? extends S> factory;
+
+        /**
+         * Prepares a returned stage for its next use, nothing by default.
+         */
+        private Consumer<? super S> reset = stage -> {};
+
+        /**
+         * Number of idle stages kept warm.
+         */
+        private int minIdle = 1;
+
+        /**
+         * Maximum number of idle stages.
+         */
+        private int maxIdle = 4;
+
+        /**
+         * Idle time after which a stage above {@code minIdle} is evicted.
+         */
+        private Duration idleTimeout = Duration.ofMinutes(5);
+
+        /**
+         * Creates a builder.
+         *
+         * @param factory creates a new stage
+         */
+        private Builder(Supplier<? extends S> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * Sets what is done to a hidden stage before it goes back to the pool, e.g. clearing
+         * a form. Window listeners set up on show are already removed at that point.
+         *
+         * @param reset the reset action
+         * @return this builder
+         */
+        public Builder<S> reset(Consumer<? super S> reset) {
+            this.reset = Objects.requireNonNull(reset, "reset");
+            return this;
+        }
+
+        /**
+         * Sets how many idle stages {@link #prewarm()} builds and eviction keeps.
+         *
+         * @param minIdle the count, 0 or more
+         * @return this builder
+         */
+        public Builder<S> minIdle(int minIdle) {
+            if (minIdle < 0) throw new IllegalArgumentException("minIdle < 0: " + minIdle);
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        /**
+         * Sets how many idle stages the pool holds at most.
+         *
+         * @param maxIdle the count, 1 or more
+         * @return this builder
+         */
+        public Builder<S> maxIdle(int maxIdle) {
+            if (maxIdle < 1) throw new IllegalArgumentException("maxIdle < 1: " + maxIdle);
+            this.maxIdle = maxIdle;
+            return this;
+        }
+
+        /**
+         * Sets the idle time after which a stage above {@code minIdle} is evicted.
+         *
+         * @param idleTimeout the timeout, positive
+         * @return this builder
+         */
+        public Builder<S> idleTimeout(Duration idleTimeout) {
+            if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+                throw new IllegalArgumentException("idleTimeout must be positive: " + idleTimeout);
+            }
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * Builds the pool, empty until {@link #prewarm()} or the first release.
+         *
+         * @return the pool
+         */
+        public NfxStagePool<S> build() {
+            if (minIdle > maxIdle) {
+                throw new IllegalArgumentException("minIdle " + minIdle + " > maxIdle " + maxIdle);
+            }
+            return new NfxStagePool<>(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a window state transition, with the number of native state
+ * updates it caused.
+ * Nothing is allocated unless the event is enabled in the running recording.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+@Name("xss.it.nfx.NfxStateTransition")
+@Label("NFX State Transition")
+@Category({"NFX", "Window"})
+@Description("Window state change and the native updates it triggered")
+@StackTrace(false)
+final class NfxStateTransitionEvent extends Event {
+    /**
+     * Registered type, checked before creating an event.
+     */
+    private static final EventType TYPE = EventType.getEventType(NfxStateTransitionEvent.class);
+
+    /**
+     * Previous window state.
+     */
+    @Label("From")
+    String from;
+
+    /**
+     * New window state.
+     */
+    @Label("To")
+    String to;
+
+    /**
+     * Native update calls made while handling the transition.
+     */
+    @Label("Native Updates")
+    int nativeUpdates;
+
+    /**
+     * Starts timing a state transition.
+     *
+     * @param from previous state, may be null
+     * @param to   new state, may be null
+     * @return the started event, or null when the event is disabled
+     */
+    static NfxStateTransitionEvent start(WindowState from, WindowState to) {
+        if (!TYPE.isEnabled()) return null;
+        NfxStateTransitionEvent event = new NfxStateTransitionEvent();
+        event.from = String.valueOf(from);
+        event.to = String.valueOf(to);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Completes and commits a state-transition event.
+     *
+     * @param event         the event returned by {@link #start(WindowState, WindowState)}, may be null
+     * @param nativeUpdates native update calls made during the transition
+     */
+    static void finish(NfxStateTransitionEvent event, int nativeUpdates) {
+        if (event == null) return;
+        event.nativeUpdates = nativeUpdates;
+        event.commit();
+    }
+}
@@ -12,13 +12,26 @@
 
 package xss.it.nfx;
 
+import javafx.application.Platform;
 import javafx.scene.paint.Color;
 import javafx.stage.Window;
 
 import java.io.*;
-import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
+ * Applies the DWM attributes of a window.
+ * <p>
+ * The attributes last applied are shadowed here: setting a value that is already applied
+ * costs no native call, and the values changed during the same FX event go down together in
+ * one native call, after the event, or right away through {@link #flush()}.
+ * <p>
+ * The shadowed state belongs to the JavaFX Application Thread. The setters and
+ * {@link #flush()} may be called from any thread: off that thread they are handed over to it,
+ * in call order, and take effect there.
+ *
  * @author XDSSWAR
  * Created on 04/13/2024
  */
@@ -43,22 +56,96 @@ public final class NfxUtil {
      */
     private static final int DWM_WCP_ROUND_SMALL = 3;
 
+    /**
+     * Attribute bit and slot of the title bar color (DWMWA_CAPTION_COLOR).
+     */
+    static final int ATTR_TITLE_BAR = 0;
+
+    /**
+     * Attribute bit and slot of the caption text color (DWMWA_TEXT_COLOR).
+     */
+    static final int ATTR_CAPTION = 1;
+
+    /**
+     * Attribute bit and slot of the corner preference (DWMWA_WINDOW_CORNER_PREFERENCE).
+     */
+    static final int ATTR_CORNER = 2;
+
+    /**
+     * Attribute bit and slot of the border color (DWMWA_BORDER_COLOR).
+     */
+    static final int ATTR_BORDER = 3;
+
+    /**
+     * Number of shadowed attributes.
+     */
+    private static final int ATTR_COUNT = 4;
+
+    /**
+     * Revision of the native interface, bumped whenever a native method or upcall changes.
+     * {@code javac -h} copies it into the JNI header, so a library built from another tree
+     * reports another value and is refused at load.
+     */
+    static final int NATIVE_INTERFACE = 1;
+
     /**
      * The native handle of the window.
      */
     private final long hWnd;
 
+    /**
+     * The backend the attributes are written to, null when it is not available.
+     */
+    private final NfxBackend backend;
+
+    /**
+     * Values last applied, per attribute slot, valid when the slot bit is set in {@link #known}.
+     */
+    private final int[] applied = new int[ATTR_COUNT];
+
+    /**
+     * Values waiting for the next flush, per attribute slot.
+     */
+    private final int[] pending = new int[ATTR_COUNT];
+
+    /**
+     * Bits of the attributes whose applied value is known.
+     */
+    private int known = 0;
+
+    /**
+     * Bits of the attributes waiting for the next flush.
+     */
+    private int dirty = 0;
+
+    /**
+     * Whether a flush is already scheduled.
+     */
+    private boolean flushScheduled = false;
+
     /**
      * Initializes an instance of NfxUtil with the native handle of the specified window.
      *
      * @param window The window object for which the native handle is to be retrieved.
      */
     public NfxUtil(Window window){
-       if (windows10OrLater) {
-           this.hWnd = getNativeHandle(window);
+       this(window, NfxBackend.current());
+    }
+
+    /**
+     * Initializes an instance of NfxUtil for the specified window on the given backend.
+     *
+     * @param window  The window object for which the native handle is to be retrieved.
+     * @param backend The backend the window lives on.
+     */
+    NfxUtil(Window window, NfxBackend backend){
+       if (backend.isAvailable()) {
+           this.hWnd = backend.windowHandle(window);
+           this.backend = backend;
        }
        else {
            hWnd = 0L;
+           this.backend = null;
        }
     }
 
@@ -68,7 +155,7 @@ public final class NfxUtil {
      * @return The native handle of the window.
      */
     public long getHWnd() {
-        if (!windows10OrLater) return 0L;
+        if (backend == null) return 0L;
         return hWnd;
     }
 
@@ -78,8 +165,8 @@ public final class NfxUtil {
      * @param color The color object representing the desired title bar color.
      */
     public void setTitleBarColor(Color color){
-        if (!windows10OrLater) return;
-        setTitleBarColor(hWnd, color.getRed(), color.getGreen(), color.getBlue());
+        if (backend == null) return;
+        request(ATTR_TITLE_BAR, toColorRef(color));
     }
 
     /**
@@ -88,7 +175,7 @@ public final class NfxUtil {
      * @param hexColor The hexadecimal color string representing the desired title bar color.
      */
     public void setTitleBarColor(String hexColor){
-        if (!windows10OrLater) return;
+        if (backend == null) return;
         setTitleBarColor(hexToColor(hexColor));
     }
 
@@ -99,8 +186,8 @@ public final class NfxUtil {
      * @param color The color object representing the desired title bar color.
      */
     public void setCaptionColor(Color color){
-        if (!windows10OrLater) return;
-        setTextColor(hWnd, color.getRed(), color.getGreen(), color.getBlue());
+        if (backend == null) return;
+        request(ATTR_CAPTION, toColorRef(color));
     }
 
     /**
@@ -109,7 +196,7 @@ public final class NfxUtil {
      * @param hexColor The hexadecimal color string representing the desired title bar color.
      */
     public void setCaptionColor(String hexColor){
-        if (!windows10OrLater) return;
+        if (backend == null) return;
         setCaptionColor(hexToColor(hexColor));
     }
 
@@ -119,13 +206,13 @@ public final class NfxUtil {
      * @param cornerPref The corner preference to set
      */
     public void setCornerPref(CornerPreference cornerPref) {
-        if (cornerPref == null || !windows10OrLater) return;
-        switch (cornerPref) {
-            case NOT_ROUND -> setCornerPreference(hWnd, DWM_WCP_DO_NOT_ROUND);
-            case ROUND -> setCornerPreference(hWnd, DWM_WCP_ROUND);
-            case ROUND_SMALL -> setCornerPreference(hWnd, DWM_WCP_ROUND_SMALL);
-            case DEFAULT -> setCornerPreference(hWnd, DWM_WCP_DEFAULT);
-        }
+        if (cornerPref == null || backend == null) return;
+        request(ATTR_CORNER, switch (cornerPref) {
+            case NOT_ROUND -> DWM_WCP_DO_NOT_ROUND;
+            case ROUND -> DWM_WCP_ROUND;
+            case ROUND_SMALL -> DWM_WCP_ROUND_SMALL;
+            case DEFAULT -> DWM_WCP_DEFAULT;
+        });
     }
 
     /**
@@ -134,8 +221,77 @@ public final class NfxUtil {
      * @param color The color to set as the border color
      */
     public void setBorderColor(Color color) {
-        if (color == null || !windows10OrLater) return;
-        setBorderColor(hWnd, (int) color.getRed(), (int) color.getGreen(), (int) color.getBlue());
+        if (color == null || backend == null) return;
+        request(ATTR_BORDER, toColorRef(color));
+    }
+
+    /**
+     * Applies the attributes changed since the last flush now, in one native call.
+     * Called on its own after the FX event that changed them, call it directly to apply
+     * them before that, e.g. while the window is being shown. Called from another thread,
+     * it runs on the JavaFX Application Thread after the values already handed over.
+     */
+    public void flush() {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(this::flush);
+            return;
+        }
+        flushScheduled = false;
+        if (dirty == 0 || backend == null) return;
+        int mask = dirty;
+        dirty = 0;
+        NfxNativeCallEvent event = NfxNativeCallEvent.start("applyAttributes", hWnd);
+        int done = backend.applyAttributes(hWnd, mask, pending[ATTR_TITLE_BAR], pending[ATTR_CAPTION],
+                pending[ATTR_CORNER], pending[ATTR_BORDER]);
+        NfxNativeCallEvent.finish(event);
+        for (int slot = 0; slot < ATTR_COUNT; slot++) {
+            int bit = 1 << slot;
+            if ((mask & bit) == 0) continue;
+            if ((done & bit) != 0) {
+                applied[slot] = pending[slot];
+                known |= bit;
+            } else {
+                known &= ~bit; // failed, the next request for this attribute goes down again
+            }
+        }
+    }
+
+    /**
+     * Queues an attribute value, unless it is the one already applied. Runs on the JavaFX
+     * Application Thread, called from another thread it is handed over to it.
+     *
+     * @param slot  The attribute slot
+     * @param value The native value
+     */
+    private void request(int slot, int value) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> request(slot, value));
+            return;
+        }
+        int bit = 1 << slot;
+        if ((known & bit) != 0 && applied[slot] == value) {
+            dirty &= ~bit; // back to the applied value before the flush
+            return;
+        }
+        pending[slot] = value;
+        dirty |= bit;
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Platform.runLater(this::flush);
+        }
+    }
+
+    /**
+     * Converts a color to a Win32 COLORREF (0x00BBGGRR).
+     *
+     * @param color The color
+     * @return The COLORREF value
+     */
+    private static int toColorRef(Color color) {
+        int r = (int) (color.getRed() * 255);
+        int g = (int) (color.getGreen() * 255);
+        int b = (int) (color.getBlue() * 255);
+        return r | (g << 8) | (b << 16);
     }
 
 
@@ -145,8 +301,9 @@ public final class NfxUtil {
      * @param title The title of the window to focus.
      */
     public static void focusWindowByTitle(String title){
-        if (windows10OrLater) {
-            focusWindow(title);
+        NfxBackend backend = NfxBackend.current();
+        if (backend.isAvailable()) {
+            backend.focusWindow(title);
         }
     }
 
@@ -166,54 +323,35 @@ public final class NfxUtil {
      * @param window The window object for which the native handle is to be retrieved.
      * @return The native handle of the window.
      */
-    private static native long getNativeHandle(Object window);
-
-
-    /**
-     * Sets the color of the title bar of a window specified by its handle.
-     *
-     * @param hWnd   The handle of the window whose title bar color is to be set.
-     * @param red    The red component of the color
-     * @param green  The green component of the color
-     * @param blue   The blue component of the color
-     */
-    private static native void setTitleBarColor(long hWnd, double red, double green, double blue);
+    static native long getNativeHandle(Object window);
 
-    /**
-     * Sets the caption color of a window specified by its handle.
-     *
-     * @param hWnd   The handle of the window whose title bar color is to be set.
-     * @param red    The red component of the color
-     * @param green  The green component of the color
-     * @param blue   The blue component of the color
-     */
-    private static native void setTextColor(long hWnd, double red, double green, double blue);
 
     /**
-     * Native method to set the corner preference for the window with the specified handle.
+     * Applies the DWM attributes flagged in the mask to the window with the specified handle.
      *
-     * @param hWnd The window handle.
-     * @param pref The corner preference.
-     * @return True if the corner preference is set successfully, false otherwise.
+     * @param hWnd     The window handle.
+     * @param mask     Bits ({@code 1 << slot}) of the attributes to apply.
+     * @param titleBar The title bar COLORREF.
+     * @param caption  The caption text COLORREF.
+     * @param corner   The corner preference.
+     * @param border   The border COLORREF.
+     * @return The bits of the attributes applied successfully.
      */
-    private native boolean setCornerPreference(long hWnd, int pref);
+    static native int applyAttributes(long hWnd, int mask, int titleBar, int caption, int corner, int border);
 
     /**
-     * Native method to set the border color for the window with the specified handle.
+     * Focuses the window with the specified name using a native method.
      *
-     * @param hWnd The window handle.
-     * @param red   The red component of the border color.
-     * @param green The green component of the border color.
-     * @param blue  The blue component of the border color.
+     * @param name The name of the window to focus.
      */
-    private native boolean setBorderColor(long hWnd, int red, int green, int blue);
+    static native void focusWindow(String name);
 
     /**
-     * Focuses the window with the specified name using a native method.
+     * Gets the revision of the native interface the loaded library implements.
      *
-     * @param name The name of the window to focus.
+     * @return The {@link #NATIVE_INTERFACE} value the library was built with.
      */
-    private static native void focusWindow(String name);
+    static native int nativeInterface();
 
     /*
      * =================================================================================================================
@@ -238,7 +376,80 @@ public final class NfxUtil {
     }
 
     /**
-     * Check if we are on windows
+     * Starts extracting and loading the native library on a background thread, once.
+     * <p>
+     * Call it early while the application boots, e.g. first thing in {@code main}, so the
+     * work overlaps with the JavaFX startup. The first native call (the first window being
+     * shown) only waits for it if it has not completed by then. Without a preload, the
+     * library is loaded synchronously by that first call.
+     *
+     * @return a future completed once the library is loaded, or right away when not on
+     *         Windows 10 or later; completed exceptionally if the library cannot be loaded
+     */
+    public static CompletableFuture<Void> preloadAsync() {
+        CompletableFuture<Void> future = libraryLoad;
+        if (future != null) return future;
+        synchronized (NfxUtil.class) {
+            if (libraryLoad == null) {
+                CompletableFuture<Void> load = new CompletableFuture<>();
+                libraryLoad = load;
+                if (windows10OrLater) {
+                    Thread thread = new Thread(() -> loadLibrary(load), "nfx-preload");
+                    thread.setDaemon(true);
+                    thread.start();
+                } else {
+                    load.complete(null);
+                }
+            }
+            return libraryLoad;
+        }
+    }
+
+    /**
+     * Waits for the native library, loading it on the calling thread if nothing did yet.
+     *
+     * @throws UncheckedIOException if the library could not be extracted
+     */
+    static void awaitLibrary() {
+        CompletableFuture<Void> load = libraryLoad;
+        if (load == null) {
+            boolean loadHere = false;
+            synchronized (NfxUtil.class) {
+                if (libraryLoad == null) {
+                    libraryLoad = new CompletableFuture<>();
+                    loadHere = true;
+                }
+                load = libraryLoad;
+            }
+            if (loadHere) loadLibrary(load);
+        }
+        if (load.isDone() && !load.isCompletedExceptionally()) return;
+        try {
+            load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw new UncheckedIOException(io);
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    /**
+     * Extracts and loads the native library, completing the given future.
+     *
+     * @param load the future to complete
+     */
+    private static void loadLibrary(CompletableFuture<Void> load) {
+        try {
+            init();
+            load.complete(null);
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Check if we are on windows, whether the nfx natives can be used is up to
+     * {@link NfxBackend#isAvailable()}
      * @return tue if yes
      */
     public static boolean isWindows(){
@@ -261,7 +472,7 @@ public final class NfxUtil {
     /**
      * Version
      */
-    private static final String VERSION = "1.0.4";
+    private static final String VERSION = "1.0.5";
 
     /**
      * Name of the library file.
@@ -273,11 +484,6 @@ public final class NfxUtil {
      */
     private static final String folderName=".nfx-libs";
 
-    /**
-     * File separator for the current platform.
-     */
-    private static final String _DIR_SEPARATOR = FileSystems.getDefault().getSeparator();
-
     /**
      * User's home directory.
      */
@@ -288,55 +494,34 @@ public final class NfxUtil {
      */
     private static boolean initialized= false;
 
-
     /**
-     * Exports a DLL file from the application's resources to the specified destination path.
-     *
-     * @param libName   The name of the DLL file.
-     * @param destPath  The destination path where the DLL file will be exported.
-     * @throws IOException if an I/O error occurs during the export process.
+     * Extraction and loading of the native library, null until started.
      */
-    private static void exportDll(final String libName, String destPath) throws IOException {
-        File file=new File(destPath);
-        if (file.exists()) {
-            return;
-        }
-        try (InputStream inputStream = NfxUtil.class.getResourceAsStream(String.format("/lib/%s",libName));
-             OutputStream outputStream = new FileOutputStream(destPath)) {
-            if (inputStream!=null) {
-                byte[] buffer = new byte[4096];
-                int bytesRead;
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-            }
-        }
-    }
+    private static volatile CompletableFuture<Void> libraryLoad;
 
 
     /**
-     * Create multiple folders inside a specific directory
-     * @param folder String folder name to create
-     * @return String
-     */
-    private static String createDirs(String folder) {
-        File baseDir = new File(_USER_DIR);
-        File f = new File(baseDir, folder);
-        if (!f.exists()) {
-            boolean ignored= f.mkdirs();
-        }
-        return f.getAbsolutePath()+_DIR_SEPARATOR;
-    }
-
-
-    /**
-     * Initializes the jnilib library.
+     * Initializes the jnilib library, from the {@code nfx.library.path} directories or the
+     * runtime image when a copy matching the bundled one is installed there, otherwise from
+     * the content-hashed copy under the user's home. A library built for another native
+     * interface is refused with an {@link UnsatisfiedLinkError} here, not on its first call.
      */
     private static void init() throws IOException {
         if (!initialized) {
-            final String lib = String.format("%s%s", createDirs(folderName), libName);
-            exportDll(libName, lib);
-            System.load(lib);
+            Path lib = NativeLoader.resolve(libName, String.format("/lib/%s", libName),
+                    NfxUtil.class, Path.of(_USER_DIR, folderName));
+            System.load(lib.toString());
+            int found;
+            try {
+                found = nativeInterface();
+            } catch (UnsatisfiedLinkError e) {
+                found = 0; // built before the interface was versioned
+            }
+            if (found != NATIVE_INTERFACE) {
+                throw new UnsatisfiedLinkError(String.format(
+                        "%s implements native interface %d, this nfx-core needs %d: rebuild it from src/native",
+                        lib, found, NATIVE_INTERFACE));
+            }
             initialized = true;
         }
     }
@@ -391,16 +576,9 @@ public final class NfxUtil {
     }
 
     /*
-     * Initialize and load the Jni
+     * Detect the platform, the Jni is loaded by preloadAsync() or by the first native call
      */
     static {
         windows10OrLater = isWindows10OrLater();
-        if (windows10OrLater) {
-            try {
-                init();
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        }
     }
 }
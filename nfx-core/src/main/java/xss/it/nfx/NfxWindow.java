@@ -12,14 +12,18 @@
 
 package xss.it.nfx;
 
-import javafx.animation.PauseTransition;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
 import javafx.event.EventHandler;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 import javafx.stage.WindowEvent;
-import javafx.util.Duration;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author XDSSWAR
@@ -38,61 +42,121 @@ public  class NfxWindow extends Stage {
      */
     protected volatile  boolean firstShowAlready = false;
 
+    /**
+     * Listeners registered by the show handler, replaced on every show.
+     */
+    private final Subscriptions showSubscriptions = new Subscriptions();
+
+    /**
+     * Watches the window list: JavaFX adds a window to it right after creating its peer, so
+     * the native handle exists, and before making it visible.
+     */
+    private static final ListChangeListener<Window> PEER_WATCH = change -> {
+        while (change.next()) {
+            for (Window window : change.getAddedSubList()) {
+                if (window instanceof NfxWindow nfxWindow) {
+                    nfxWindow.peerCreated();
+                }
+            }
+        }
+    };
+
+    /**
+     * Set once {@link #PEER_WATCH} is registered. Used on the FX thread only.
+     */
+    private static boolean peerWatchInstalled = false;
+
+    /**
+     * Set from WINDOW_SHOWING until the native side of this show is set up.
+     */
+    private boolean awaitingNative = false;
+
+    /**
+     * Whether the native side of the current show is set up.
+     */
+    private final ReadOnlyBooleanWrapper nfxReady;
+
+    /**
+     * Completed when the native side of the current, or next, show is set up.
+     */
+    private CompletableFuture<NfxUtil> nfxReadyFuture = new CompletableFuture<>();
+
     /**
      * A private final member representing an EventHandler for WindowEvent.
      * This EventHandler listens for WindowEvents and handles them accordingly.
      */
     private final EventHandler<WindowEvent> LISTENER = windowEvent -> {
         firstShowAlready = true;
-        /*
-         * TODO : Hope this fix the flicker at shown
-         */
-        PauseTransition pt = new PauseTransition(Duration.millis(3));
-        pt.setOnFinished(event -> {
-            ensureNfx();
-            if (getTitleBarColor()!=null) {
-                getNfxUtil().setTitleBarColor(getTitleBarColor());
-            }
+        awaitingNative = true;
+    };
 
-            if (getCaptionColor() != null){
-                getNfxUtil().setCaptionColor(getCaptionColor());
-            }
+    /**
+     * Sets up the native side as soon as the peer has a native handle, in the same turn,
+     * before the window is made visible, so it never shows default chrome.
+     */
+    private void peerCreated() {
+        if (awaitingNative && backend().windowHandle(this) != 0L) {
+            applyNative();
+        }
+    }
 
-            getNfxUtil().setCornerPref(getCornerPreference());
-            cornerPreferenceProperty().addListener((obs1, o1, pref) ->{
-                getNfxUtil().setCornerPref(pref);
-                invalidateSpots();
-            });
+    /**
+     * Creates the NfxUtil for the new handle, applies every initial attribute in one native
+     * call and registers the listeners keeping them current, then signals readiness.
+     */
+    private void applyNative() {
+        awaitingNative = false;
+        // the listeners of the previous show, if any, would fire twice
+        showSubscriptions.dispose();
+        if (getNfxUtil() != null && getNfxUtil().getHWnd() != backend().windowHandle(this)) {
+            nfxUtilProperty().set(null); // every show gets a new peer, and a new handle
+        }
+        ensureNfx();
+        if (getTitleBarColor()!=null) {
+            getNfxUtil().setTitleBarColor(getTitleBarColor());
+        }
 
-            getNfxUtil().setBorderColor(getWindowBorder());
-            windowBorderProperty().addListener((obs1, o1, border) -> {
-                getNfxUtil().setBorderColor(border);
-                invalidateSpots();
-            });
+        if (getCaptionColor() != null){
+            getNfxUtil().setCaptionColor(getCaptionColor());
+        }
 
-            widthProperty().addListener((obs,o, n) -> {
-                update(isMaximized(), isFullScreen());//New update, keep eye
-                invalidateSpots();
-            });
-            heightProperty().addListener((obs,o, n) -> {
-                update(isMaximized(), isFullScreen());//New update, keep eye
-                invalidateSpots();
-            });
+        getNfxUtil().setCornerPref(getCornerPreference());
+        showSubscriptions.add(cornerPreferenceProperty(), (obs1, o1, pref) ->{
+            getNfxUtil().setCornerPref(pref);
+            invalidateSpots();
+        });
 
-            titleBarColorProperty().addListener((obs, o, color) -> {
-                if (color != null && getNfxUtil() != null){
-                    getNfxUtil().setTitleBarColor(color);
-                }
-            });
+        getNfxUtil().setBorderColor(getWindowBorder());
+        // everything above in one native call, unchanged values are skipped
+        getNfxUtil().flush();
+        showSubscriptions.add(windowBorderProperty(), (obs1, o1, border) -> {
+            getNfxUtil().setBorderColor(border);
+            invalidateSpots();
+        });
 
-            captionColorProperty().addListener((obs, o, color) -> {
-                if (color != null && getNfxUtil() != null){
-                    getNfxUtil().setCaptionColor(color);
-                }
-            });
+        showSubscriptions.add(widthProperty(), (obs,o, n) -> {
+            requestSizeUpdate();
+            invalidateSpots();
         });
-        pt.play();
-    };
+        showSubscriptions.add(heightProperty(), (obs,o, n) -> {
+            requestSizeUpdate();
+            invalidateSpots();
+        });
+
+        showSubscriptions.add(titleBarColorProperty(), (obs, o, color) -> {
+            if (color != null && getNfxUtil() != null){
+                getNfxUtil().setTitleBarColor(color);
+            }
+        });
+
+        showSubscriptions.add(captionColorProperty(), (obs, o, color) -> {
+            if (color != null && getNfxUtil() != null){
+                getNfxUtil().setCaptionColor(color);
+            }
+        });
+        nfxReady.set(true);
+        nfxReadyFuture.complete(getNfxUtil());
+    }
 
     /**
      * Constructs a new NfxWindow instance.
@@ -100,6 +164,7 @@ public  class NfxWindow extends Stage {
     public NfxWindow() {
         super();
         nfxUtil = new SimpleObjectProperty<>(this, "nfxUtil", null);
+        nfxReady = new ReadOnlyBooleanWrapper(this, "nfxReady", false);
         initialize();
     }
 
@@ -107,13 +172,80 @@ public  class NfxWindow extends Stage {
      * Initializes the NfxWindow.
      */
     private void initialize(){
-        if (NfxUtil.isWindows()) {
+        if (backend().isAvailable()) {
+            // no-op when already preloaded, otherwise loads while the scene is being built
+            backend().preload();
+            if (!peerWatchInstalled) {
+                Window.getWindows().addListener(PEER_WATCH);
+                peerWatchInstalled = true;
+            }
             addEventHandler(WindowEvent.WINDOW_SHOWING, LISTENER);
+            // the handle is normally there earlier, see PEER_WATCH
+            addEventHandler(WindowEvent.WINDOW_SHOWN, e -> {
+                if (awaitingNative) applyNative();
+            });
+            addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> {
+                awaitingNative = false;
+                nfxReady.set(false);
+                if (nfxReadyFuture.isDone()) {
+                    nfxReadyFuture = new CompletableFuture<>();
+                }
+            });
 
         }
     }
 
 
+    /**
+     * Returns the backend native operations go through.
+     *
+     * @return The backend of this JVM
+     */
+    final NfxBackend backend() {
+        return NfxBackend.current();
+    }
+
+    /**
+     * Tells whether the native side of the current show is set up: the window has its native
+     * handle, its NfxUtil, and every initial attribute applied. Becomes true during
+     * {@link #show()}, before the window is visible, and false again once it is hidden.
+     * Never true when the backend is not available.
+     *
+     * @return The read-only nfxReady property
+     */
+    public final ReadOnlyBooleanProperty nfxReadyProperty() {
+        return nfxReady.getReadOnlyProperty();
+    }
+
+    /**
+     * Checks whether the native side of the current show is set up.
+     *
+     * @return True if ready, false otherwise
+     */
+    public final boolean isNfxReady() {
+        return nfxReady.get();
+    }
+
+    /**
+     * Returns a future completed, on the FX thread, with the NfxUtil once the native side of
+     * the current show, or of the next one if the window is hidden, is set up.
+     * Never completes when the backend is not available.
+     *
+     * @return The readiness future of the current or next show
+     */
+    public final CompletableFuture<NfxUtil> whenNfxReady() {
+        return nfxReadyFuture;
+    }
+
+    /**
+     * Gets the number of listeners registered for the current show.
+     *
+     * @return The show listener count, 0 before the first show
+     */
+    final int getShowListenerCount() {
+        return showSubscriptions.size();
+    }
+
     /**
      * Returns the property for accessing NfxUtil.
      *
@@ -144,9 +276,10 @@ public  class NfxWindow extends Stage {
     }
 
     /**
-     * Resets the nfx
+     * Resets the nfx, dropping the listeners that drive it
      */
     protected void resetNfx(){
+        showSubscriptions.dispose();
         nfxUtilProperty().set(null);
     }
 
@@ -325,4 +458,10 @@ public  class NfxWindow extends Stage {
      * @param full Whether the window should be in full-screen mode.
      */
     protected void update(boolean max, boolean full){}
+
+    /**
+     * Asks for the native update a size change may need. Subclasses coalesce the requests,
+     * a drag-resize changes the size many times per frame.
+     */
+    protected void requestSizeUpdate(){}
 }
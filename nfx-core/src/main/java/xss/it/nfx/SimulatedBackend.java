@@ -0,0 +1,370 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.stage.Window;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Win32 library, available on every platform.
+ * <p>
+ * It keeps what the library would have been told per window (installed, state, taskbar,
+ * DWM attributes, hit table) so a run can be inspected, and plays the part of the window
+ * procedure through {@link #hitTest}, {@link #hoverChanged}, {@link #stateChanged} and
+ * {@link #mouseLeft}, which call the window back as the library would. Together with a
+ * headless toolkit (e.g. Monocle) it runs the whole window lifecycle off Windows.
+ * <p>
+ * Select it with {@code -Dnfx.backend=simulated}. Window handles are synthetic, unique per
+ * window for the life of the backend.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+public final class SimulatedBackend implements NfxBackend {
+    /**
+     * Returned by {@link #hitTest} for a window that is not installed, as HTNOWHERE.
+     */
+    public static final int HT_NOWHERE = 0;
+
+    /**
+     * Next synthetic handle.
+     */
+    private final AtomicLong nextHandle = new AtomicLong(0x10000);
+
+    /**
+     * Synthetic handle per window, dropped with the window.
+     */
+    private final Map<Window, Long> handles = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * State per handle.
+     */
+    private final Map<Long, State> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Calls received so far, all operations included.
+     */
+    private final AtomicLong calls = new AtomicLong();
+
+    /**
+     * Title passed to the last {@link #focusWindow} call, or null.
+     */
+    private volatile String focusedTitle;
+
+    /**
+     * Creates a backend with no windows.
+     */
+    public SimulatedBackend() {
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public long windowHandle(Window window) {
+        calls.incrementAndGet();
+        return handles.computeIfAbsent(window, w -> nextHandle.getAndIncrement());
+    }
+
+    @Override
+    public int applyAttributes(long hWnd, int mask, int titleBar, int caption, int corner, int border) {
+        calls.incrementAndGet();
+        if (hWnd == 0) return 0;
+        State state = state(hWnd);
+        int[] values = {titleBar, caption, corner, border};
+        for (int slot = 0; slot < values.length; slot++) {
+            if ((mask & (1 << slot)) != 0) {
+                state.attributes[slot] = values[slot];
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public void focusWindow(String title) {
+        calls.incrementAndGet();
+        focusedTitle = title;
+    }
+
+    @Override
+    public void install(AbstractNfxUndecoratedWindow window, long hWnd, WindowCallbacks callbacks) {
+        calls.incrementAndGet();
+        State state = state(hWnd);
+        if (state.callbacks == null) {
+            state.callbacks = callbacks; // like the library, a second install is ignored
+        }
+    }
+
+    @Override
+    public void uninstall(AbstractNfxUndecoratedWindow window, long hWnd) {
+        calls.incrementAndGet();
+        State state = windows.get(hWnd);
+        if (state != null) {
+            state.callbacks = null;
+            state.hitTable = null;
+        }
+    }
+
+    @Override
+    public void update(AbstractNfxUndecoratedWindow window, long hWnd, boolean maximized, boolean fullScreen) {
+        calls.incrementAndGet();
+        State state = state(hWnd);
+        state.maximized = maximized;
+        state.fullScreen = fullScreen;
+        state.updates++;
+    }
+
+    @Override
+    public void mirrorState(AbstractNfxUndecoratedWindow window, long hWnd, boolean maximized, boolean fullScreen) {
+        calls.incrementAndGet();
+        State state = state(hWnd);
+        state.maximized = maximized;
+        state.fullScreen = fullScreen;
+    }
+
+    @Override
+    public void setHitTable(AbstractNfxUndecoratedWindow window, long hWnd, ByteBuffer table) {
+        calls.incrementAndGet();
+        state(hWnd).hitTable = table;
+    }
+
+    @Override
+    public void hideFromTaskBar(AbstractNfxUndecoratedWindow window, long hWnd, boolean hide) {
+        calls.incrementAndGet();
+        state(hWnd).hiddenFromTaskBar = hide;
+    }
+
+    /*
+     * =================================================================================================================
+     *
+     *                                         Window procedure
+     *
+     * =================================================================================================================
+     */
+
+    /**
+     * Runs a non-client hit test through the window, as WM_NCHITTEST does without a table.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param hWnd             the window handle
+     * @param x                x in client coordinates (DIP)
+     * @param y                y in client coordinates (DIP)
+     * @param isOnResizeBorder whether the point is on the top resize border
+     * @return the HT code, or {@link #HT_NOWHERE} if the window is not installed
+     */
+    public int hitTest(long hWnd, int x, int y, boolean isOnResizeBorder) {
+        WindowCallbacks callbacks = callbacks(hWnd);
+        return callbacks == null ? HT_NOWHERE : callbacks.hitTest(x, y, isOnResizeBorder);
+    }
+
+    /**
+     * Reports a hover transition to the window, as the native table lookup does.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param hWnd       the window handle
+     * @param index      the spot now under the pointer, or -1
+     * @param generation the table generation the index refers to
+     */
+    public void hoverChanged(long hWnd, int index, int generation) {
+        WindowCallbacks callbacks = callbacks(hWnd);
+        if (callbacks != null) callbacks.hoverChanged(index, generation);
+    }
+
+    /**
+     * Reports a background change to the window, as WM_SIZE and WM_ACTIVATE do.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param hWnd the window handle
+     */
+    public void stateChanged(long hWnd) {
+        WindowCallbacks callbacks = callbacks(hWnd);
+        if (callbacks != null) callbacks.stateChanged();
+    }
+
+    /**
+     * Reports that the pointer left the window, as WM_MOUSELEAVE does.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param hWnd the window handle
+     */
+    public void mouseLeft(long hWnd) {
+        WindowCallbacks callbacks = callbacks(hWnd);
+        if (callbacks != null) callbacks.mouseLeft();
+    }
+
+    /*
+     * =================================================================================================================
+     *
+     *                                         Inspection
+     *
+     * =================================================================================================================
+     */
+
+    /**
+     * Gets the number of operations received so far.
+     *
+     * @return the call count
+     */
+    public long calls() {
+        return calls.get();
+    }
+
+    /**
+     * Checks whether the window procedure of a window is installed.
+     *
+     * @param hWnd the window handle
+     * @return true if installed
+     */
+    public boolean isInstalled(long hWnd) {
+        return callbacks(hWnd) != null;
+    }
+
+    /**
+     * Gets the maximized state last pushed for a window.
+     *
+     * @param hWnd the window handle
+     * @return true if maximized
+     */
+    public boolean isMaximized(long hWnd) {
+        State state = windows.get(hWnd);
+        return state != null && state.maximized;
+    }
+
+    /**
+     * Gets the full-screen state last pushed for a window.
+     *
+     * @param hWnd the window handle
+     * @return true if full screen
+     */
+    public boolean isFullScreen(long hWnd) {
+        State state = windows.get(hWnd);
+        return state != null && state.fullScreen;
+    }
+
+    /**
+     * Checks whether a window is hidden from the taskbar.
+     *
+     * @param hWnd the window handle
+     * @return true if hidden
+     */
+    public boolean isHiddenFromTaskBar(long hWnd) {
+        State state = windows.get(hWnd);
+        return state != null && state.hiddenFromTaskBar;
+    }
+
+    /**
+     * Gets the number of frame updates issued for a window.
+     *
+     * @param hWnd the window handle
+     * @return the update count
+     */
+    public int updates(long hWnd) {
+        State state = windows.get(hWnd);
+        return state == null ? 0 : state.updates;
+    }
+
+    /**
+     * Gets the DWM attributes applied to a window: title bar, caption, corner and border.
+     *
+     * @param hWnd the window handle
+     * @return a copy of the four values, 0 where never applied
+     */
+    public int[] attributes(long hWnd) {
+        State state = windows.get(hWnd);
+        return state == null ? new int[4] : Arrays.copyOf(state.attributes, 4);
+    }
+
+    /**
+     * Gets the hit-spot table handed over for a window.
+     *
+     * @param hWnd the window handle
+     * @return the table, or null while detached
+     */
+    public ByteBuffer hitTable(long hWnd) {
+        State state = windows.get(hWnd);
+        return state == null ? null : state.hitTable;
+    }
+
+    /**
+     * Gets the title passed to the last focus request.
+     *
+     * @return the title, or null
+     */
+    public String focusedTitle() {
+        return focusedTitle;
+    }
+
+    /**
+     * Gets the state of a handle, creating it on first use.
+     */
+    private State state(long hWnd) {
+        return windows.computeIfAbsent(hWnd, h -> new State());
+    }
+
+    /**
+     * Gets the callbacks of an installed window, or null.
+     */
+    private WindowCallbacks callbacks(long hWnd) {
+        State state = windows.get(hWnd);
+        return state == null ? null : state.callbacks;
+    }
+
+    /**
+     * What the library would hold for one window.
+     */
+    private static final class State {
+        /**
+         * The window side, null while not installed.
+         */
+        private volatile WindowCallbacks callbacks;
+
+        /**
+         * Mirrored maximized state.
+         */
+        private volatile boolean maximized;
+
+        /**
+         * Mirrored full-screen state.
+         */
+        private volatile boolean fullScreen;
+
+        /**
+         * Whether the window is hidden from the taskbar.
+         */
+        private volatile boolean hiddenFromTaskBar;
+
+        /**
+         * Frame updates issued.
+         */
+        private volatile int updates;
+
+        /**
+         * The shared hit-spot table, null while detached.
+         */
+        private volatile ByteBuffer hitTable;
+
+        /**
+         * Applied DWM attributes, by {@link NfxUtil} slot.
+         */
+        private final int[] attributes = new int[4];
+    }
+}
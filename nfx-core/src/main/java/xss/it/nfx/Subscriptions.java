@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listeners registered for one lifetime (a native install, a show) and removed together
+ * when it ends, so hide/show cycles never stack listeners. Used on the FX thread only.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+final class Subscriptions {
+    /**
+     * Removes each registered listener, in registration order.
+     */
+    private final List<Runnable> disposers = new ArrayList<>();
+
+    /**
+     * Adds a change listener for the current lifetime.
+     *
+     * @param observable the observed value
+     * @param listener   the listener
+     * @param <T>        the value type
+     */
+    <T> void add(ObservableValue<T> observable, ChangeListener<? super T> listener) {
+        observable.addListener(listener);
+        disposers.add(() -> observable.removeListener(listener));
+    }
+
+    /**
+     * Adds an invalidation listener for the current lifetime.
+     *
+     * @param observable the observable
+     * @param listener   the listener
+     */
+    void add(Observable observable, InvalidationListener listener) {
+        observable.addListener(listener);
+        disposers.add(() -> observable.removeListener(listener));
+    }
+
+    /**
+     * Removes every listener added since the last call.
+     */
+    void dispose() {
+        for (Runnable disposer : disposers) {
+            disposer.run();
+        }
+        disposers.clear();
+    }
+
+    /**
+     * Gets the number of listeners currently registered.
+     *
+     * @return the listener count
+     */
+    int size() {
+        return disposers.size();
+    }
+}
@@ -7,104 +7,88 @@
 
 #include "jni_h/xss_it_nfx_NfxUtil.h"
 #include "utils/utils.h"
+#include "utils/attach.h"
+#include "utils/NfxWinProc.h"
 #include <windowsx.h>
 
 /**
- * Retrieves the native handle of the specified JavaFX stage window.
+ * Caches the VM and resolves the classes and methods used by upcalls, once per load.
+ * Nothing resolved here is fatal: whatever is missing is resolved again on first use.
  *
- * @param env The JNI environment.
- * @param cls The Java class reference.
- * @param win The JavaFX stage window object.
- * @return The native handle of the window.
+ * @param vm       The Java VM
+ * @param reserved Unused
+ * @return The JNI version required by the library
  */
 extern "C"
-JNIEXPORT jlong JNICALL Java_xss_it_nfx_NfxUtil_getNativeHandle(JNIEnv *env, jclass cls, jobject win) {
-    return get_hwnd_from_javafx_stage(env, win);
-}
+JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *reserved) {
+    JNIEnv *env = nullptr;
+    if (vm->GetEnv(reinterpret_cast<void **>(&env), JNI_VERSION_1_8) != JNI_OK) {
+        return JNI_ERR;
+    }
+    nfx::jniVm.store(vm);
 
-/**
- * Sets the color of the title bar of a native window.
- *
- * @param env   The JNI environment.
- * @param cls   The Java class reference.
- * @param hWnd  The native handle of the window.
- * @param red   The red component of the color
- * @param green The green component of the color
- * @param blue  The blue component of the color
- */
-extern "C"
-JNIEXPORT void JNICALL Java_xss_it_nfx_NfxUtil_setTitleBarColor
-(JNIEnv *env, jclass cls, jlong hWnd, jdouble red, jdouble green, jdouble blue) {
-    HWND _hwnd = to_hwnd(hWnd);
-    set_title_bar_color(_hwnd, from_javafx_color(red, green, blue));
+    jclass windowClass = env->FindClass("xss/it/nfx/AbstractNfxUndecoratedWindow");
+    if (windowClass != nullptr) {
+        NfxWinProc::initializeJavaCallBacks(env, windowClass);
+        env->DeleteLocalRef(windowClass);
+    } else {
+        env->ExceptionClear();
+    }
+    init_javafx_stage_methods(env);
+    return JNI_VERSION_1_8;
 }
 
 /**
- * Sets the color of the title in a native window.
+ * Forgets the VM, threads exiting afterwards are not detached by the library.
  *
- * @param env   The JNI environment.
- * @param cls   The Java class reference.
- * @param hWnd  The native handle of the window.
- * @param red   The red component of the color
- * @param green The green component of the color
- * @param blue  The blue component of the color
+ * @param vm       The Java VM
+ * @param reserved Unused
  */
 extern "C"
-JNIEXPORT void JNICALL Java_xss_it_nfx_NfxUtil_setTextColor
-(JNIEnv *env, jclass cls, jlong hWnd, jdouble red, jdouble green, jdouble blue) {
-    HWND _hwnd = to_hwnd(hWnd);
-    set_text_color(_hwnd, from_javafx_color(red, green, blue));
+JNIEXPORT void JNICALL JNI_OnUnload(JavaVM *vm, void *reserved) {
+    nfx::jniVm.store(nullptr);
 }
 
 /**
- * Sets the corner preference of the window.
+ * Retrieves the native handle of the specified JavaFX stage window.
  *
- * @param hwnd The handle of the window
- * @param pref The corner preference to set
- * @return True if successful, false otherwise
+ * @param env The JNI environment.
+ * @param cls The Java class reference.
+ * @param win The JavaFX stage window object.
+ * @return The native handle of the window.
  */
 extern "C"
-JNIEXPORT jboolean JNICALL
-Java_xss_it_nfx_NfxUtil_setCornerPreference
-(JNIEnv *env, jobject obj, jlong hwnd, jint pref) {
-    if (hwnd == 0)
-        return FALSE;
-
-
-    auto attr = (DWM_WINDOW_CORNER_PREFERENCE) pref;
-    return ::DwmSetWindowAttribute(
-               to_hwnd(hwnd),
-               DWMWA_WINDOW_CORNER_PREFERENCE,
-               &attr, sizeof(attr)) == S_OK;
+JNIEXPORT jlong JNICALL Java_xss_it_nfx_NfxUtil_getNativeHandle(JNIEnv *env, jclass cls, jobject win) {
+    return get_hwnd_from_javafx_stage(env, win);
 }
 
 /**
- * Sets the border color of the window.
+ * Applies the DWM attributes flagged in the mask, changed together on the Java side.
  *
- * @param hWnd The handle of the window
- * @param r    The red component of the color
- * @param g    The green component of the color
- * @param b    The blue component of the color
- * @return True if successful, false otherwise
+ * @param env      The JNI environment.
+ * @param cls      The Java class reference.
+ * @param hWnd     The native handle of the window.
+ * @param mask     Bits of the attributes to apply, see DwmAttributes
+ * @param titleBar The title bar COLORREF
+ * @param caption  The caption text COLORREF
+ * @param corner   The corner preference
+ * @param border   The border COLORREF
+ * @return The bits of the attributes applied successfully
  */
 extern "C"
-JNIEXPORT jboolean JNICALL Java_xss_it_nfx_NfxUtil_setBorderColor
-(JNIEnv *env, jobject obj, jlong hWnd, jint r, jint g, jint b) {
+JNIEXPORT jint JNICALL Java_xss_it_nfx_NfxUtil_applyAttributes
+(JNIEnv *env, jclass cls, jlong hWnd, jint mask, jint titleBar, jint caption, jint corner, jint border) {
     if (hWnd == 0)
-        return FALSE;
+        return 0;
 
-    COLORREF attr;
-    if (r == -1)
-        attr = DWMWA_COLOR_DEFAULT;
-    else if (r == -2)
-        attr = DWMWA_COLOR_NONE;
-    else
-        attr = RGB(r, g, b);
-    return ::DwmSetWindowAttribute(
-               to_hwnd(hWnd),
-               DWMWA_BORDER_COLOR,
-               &attr,
-               sizeof(attr)) == S_OK;
+    const DwmAttributes attributes{
+        static_cast<uint32_t>(mask),
+        static_cast<COLORREF>(titleBar),
+        static_cast<COLORREF>(caption),
+        static_cast<DWORD>(corner),
+        static_cast<COLORREF>(border)
+    };
+    return static_cast<jint>(apply_dwm_attributes(to_hwnd(hWnd), attributes));
 }
 
 
@@ -126,3 +110,16 @@ JNIEXPORT void JNICALL Java_xss_it_nfx_NfxUtil_focusWindow
     }
     env->ReleaseStringUTFChars(str, nativeWindowName);
 }
+
+/**
+ * Gets the revision of the native interface this library implements, checked by the Java side
+ * right after loading.
+ *
+ * @param env The JNI environment pointer.
+ * @param cls The Java class calling the native method.
+ * @return NfxUtil.NATIVE_INTERFACE as it was when the library was built.
+ */
+extern "C"
+JNIEXPORT jint JNICALL Java_xss_it_nfx_NfxUtil_nativeInterface(JNIEnv *env, jclass cls) {
+    return xss_it_nfx_NfxUtil_NATIVE_INTERFACE;
+}
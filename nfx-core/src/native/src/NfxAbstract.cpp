@@ -6,9 +6,11 @@
 #include "utils/utils.h"
 #include <windowsx.h>
 #include <dwmapi.h>
+#include <algorithm>
 #include <iostream>
 
 #include "utils/attach.h"
+#include "utils/HitTable.h"
 #include "utils/HwndMap.h"
 #include "utils/NfxWinProc.h"
 
@@ -25,16 +27,6 @@ int NfxWinProc::initialized = 0;
  */
 jmethodID NfxWinProc::onNcHitTestMID;
 
-/**
- * Method ID for the isFullscreen method.
- */
-jmethodID NfxWinProc::isFullscreenMID;
-
-/**
- * Method ID for the isMaximized method.
- */
-jmethodID NfxWinProc::isMaximizedMID;
-
 /**
  * Method ID for the fireStateChange method.
  */
@@ -45,6 +37,11 @@ jmethodID NfxWinProc::fireStateChangeMID;
  */
 jmethodID NfxWinProc::onWmMouseLeaveMID;
 
+/**
+ * Method ID for the onHoverChanged method.
+ */
+jmethodID NfxWinProc::onHoverChangedMID;
+
 /**
  * Represents the mapping of window handles to Java objects.
  */
@@ -53,9 +50,7 @@ HwndMap *NfxWinProc::hwndMap;
 /**
  * Constructor for NfxWinProc.
  */
-NfxWinProc::NfxWinProc() {
-    jvm = nullptr;
-    env = nullptr;
+NfxWinProc::NfxWinProc() : metrics(&metricsProvider) {
     obj = nullptr;
     hwnd = nullptr;
     defaultWndProc = nullptr;
@@ -63,10 +58,19 @@ NfxWinProc::NfxWinProc() {
     background = nullptr;
     isMovingOrSizing = false;
     isMoving = false;
+    hitTableRef = nullptr;
+    hitTable = nullptr;
+    lastHoverIndex = -1;
+    lastHoverGeneration = -1;
+    frameInsets = {0, 0, 0, 0};
+    isForwardingMouseMove = false;
+    mirroredMaximized = false;
+    mirroredFullscreen = false;
 }
 
 /**
- * Initializes Java callbacks.
+ * Initializes Java callbacks from the class of the window object.
+ * A no-op once JNI_OnLoad resolved them.
  *
  * @param env The JNI environment
  * @param obj The Java object associated with the window
@@ -75,16 +79,31 @@ void NfxWinProc::initializeJavaCallBacks(JNIEnv *env, jobject obj) {
     if (initialized) {
         return;
     }
-    initialized = -1;
     jclass cls = env->GetObjectClass(obj);
+    initializeJavaCallBacks(env, cls);
+    env->DeleteLocalRef(cls);
+}
+
+/**
+ * Initializes Java callbacks, once.
+ *
+ * @param env The JNI environment
+ * @param cls The class declaring the callbacks
+ */
+void NfxWinProc::initializeJavaCallBacks(JNIEnv *env, jclass cls) {
+    if (initialized) {
+        return;
+    }
+    initialized = -1;
     onNcHitTestMID = env->GetMethodID(cls, JNI_ON_NC_HIT_TEST_MDI, "(IIZ)I");
-    isFullscreenMID = env->GetMethodID(cls, JNI_IS_FULL_SCREEN_MDI, "()Z");
-    isMaximizedMID = env->GetMethodID(cls, JNI_IS_MAXIMIZED_MDI, "()Z");
     fireStateChangeMID = env->GetMethodID(cls, JNI_FIRE_STATE_CHANGE_MDI, "()V");
     onWmMouseLeaveMID = env->GetMethodID(cls, JNI_INVALIDATE_MDI, "()V");
-    if (onNcHitTestMID != nullptr && isFullscreenMID != nullptr && fireStateChangeMID != nullptr
-        && onWmMouseLeaveMID != nullptr && isMaximizedMID != nullptr) {
+    onHoverChangedMID = env->GetMethodID(cls, JNI_HOVER_CHANGED_MDI, "(II)V");
+    if (onNcHitTestMID != nullptr && fireStateChangeMID != nullptr
+        && onWmMouseLeaveMID != nullptr && onHoverChangedMID != nullptr) {
         initialized = 1;
+    } else if (env->ExceptionCheck()) {
+        env->ExceptionClear();
     }
 }
 
@@ -119,9 +138,10 @@ HWND NfxWinProc::install(JNIEnv *env, jobject obj, HWND hWnd) {
         return nullptr;
     }
 
-    env->GetJavaVM(&wp->jvm);
     wp->obj = env->NewGlobalRef(obj);
     wp->hwnd = hWnd;
+    wp->metricsProvider.hwnd = hWnd;
+    wp->metrics.invalidate();
 
     // replace window procedure
     wp->defaultWndProc = reinterpret_cast<WNDPROC>(::SetWindowLongPtr(hWnd, GWLP_WNDPROC, (LONG_PTR) StaticWindowProc));
@@ -167,6 +187,7 @@ void NfxWinProc::uninstall(JNIEnv *env, jobject obj, HWND hWnd) {
 
     ::SetWindowLongPtr(hWnd, GWLP_WNDPROC, reinterpret_cast<LONG_PTR>(wp->defaultWndProc));
 
+    wp->releaseHitTable(env);
     env->DeleteGlobalRef(wp->obj);
     if (wp->background != nullptr) {
         ::DeleteObject(wp->background);
@@ -186,6 +207,8 @@ void NfxWinProc::uninstall(JNIEnv *env, jobject obj, HWND hWnd) {
 void NfxWinProc::update(HWND hwnd, bool max, bool full) {
     auto *wp = (NfxWinProc *) hwndMap->get(hwnd);
     if (wp != nullptr) {
+        wp->mirroredMaximized = max;
+        wp->mirroredFullscreen = full;
         if (max || full) {
             wp->wmSizeWParam = SIZE_MAXIMIZED;
         } else {
@@ -201,6 +224,22 @@ void NfxWinProc::update(HWND hwnd, bool max, bool full) {
         wp->wmSizeWParam = -1;
 }
 
+/**
+ * Stores the window state pushed by Java. WM_NCCALCSIZE reads it on every frame recalculation,
+ * which used to cost an upcall each time.
+ *
+ * @param hwnd The handle to the window.
+ * @param max  Indicates whether the window is maximized (true) or not (false).
+ * @param full Indicates whether the window is in full-screen mode (true) or not (false).
+ */
+void NfxWinProc::mirrorState(HWND hwnd, bool max, bool full) {
+    auto *wp = (NfxWinProc *) hwndMap->get(hwnd);
+    if (wp == nullptr)
+        return;
+    wp->mirroredMaximized = max;
+    wp->mirroredFullscreen = full;
+}
+
 /**
  * Sets the background color of the specified window.
  *
@@ -222,6 +261,47 @@ void NfxWinProc::setWindowBackground(HWND hwnd, int r, int g, int b) {
     wp->background = ::CreateSolidBrush(RGB(r, g, b));
 }
 
+/**
+ * Sets the hit-spot table shared with Java. WM_NCHITTEST is then resolved natively and Java
+ * is only called when the hovered spot changes.
+ *
+ * @param env    The JNI environment.
+ * @param hwnd   The handle to the window.
+ * @param buffer The direct ByteBuffer holding the table, or null to go back to Java hit testing.
+ */
+void NfxWinProc::setHitTable(JNIEnv *env, HWND hwnd, jobject buffer) {
+    if (hwndMap == nullptr)
+        return;
+    auto *wp = (NfxWinProc *) hwndMap->get(hwnd);
+    if (wp == nullptr)
+        return;
+
+    wp->releaseHitTable(env);
+    if (buffer == nullptr)
+        return;
+
+    void *address = env->GetDirectBufferAddress(buffer);
+    if (address == nullptr || env->GetDirectBufferCapacity(buffer) < (jlong) nfx::HIT_TABLE_HEADER_BYTES)
+        return;
+
+    wp->hitTableRef = env->NewGlobalRef(buffer);
+    wp->hitTable = static_cast<const unsigned char *>(address);
+}
+
+/**
+ * Releases the shared hit table and forgets the last hover transition.
+ *
+ * @param env The JNI environment.
+ */
+void NfxWinProc::releaseHitTable(JNIEnv *env) {
+    if (hitTableRef != nullptr && env != nullptr)
+        env->DeleteGlobalRef(hitTableRef);
+    hitTableRef = nullptr;
+    hitTable = nullptr;
+    lastHoverIndex = -1;
+    lastHoverGeneration = -1;
+}
+
 /**
  * Static method that serves as the window procedure for the NfxWinProc class.
  * This method handles window messages sent to the specified window.
@@ -250,7 +330,6 @@ LRESULT CALLBACK NfxWinProc::StaticWindowProc(HWND hwnd, int uMsg, WPARAM wParam
  * @return       The result of the message processing.
  */
 LRESULT CALLBACK NfxWinProc::WindowProc(HWND hWnd, int uMsg, WPARAM wParam, LPARAM lParam) {
-    onWmMouseLeave(hWnd);
     switch (uMsg) {
         case WM_NCCALCSIZE:
             return WmNcCalcSize(hWnd, uMsg, wParam, lParam);
@@ -259,15 +338,30 @@ LRESULT CALLBACK NfxWinProc::WindowProc(HWND hWnd, int uMsg, WPARAM wParam, LPAR
             return WmNcHitTest(hWnd, uMsg, wParam, lParam);
 
         case WM_NCMOUSEMOVE:
+            trackMouseLeave(hWnd, true);
             // if mouse is moved over some non-client areas,
             // send it also to the client area to allow JavaFx to process it
             // (required for Windows 11 maximize button)
             if (wParam == HTMINBUTTON || wParam == HTMAXBUTTON || wParam == HTCLOSE ||
                 wParam == HTCAPTION || wParam == HTSYSMENU) {
+                isForwardingMouseMove = true;
                 sendMessageToClientArea(hWnd, WM_MOUSEMOVE, lParam);
+                isForwardingMouseMove = false;
             }
             break;
 
+        case WM_MOUSEMOVE:
+            // forwarded non-client moves must not arm client tracking, it would end right away
+            if (!isForwardingMouseMove)
+                trackMouseLeave(hWnd, false);
+            break;
+
+        case WM_MOUSELEAVE:
+        case WM_NCMOUSELEAVE:
+            if (mouseTracker.onMouseLeave(uMsg == WM_NCMOUSELEAVE, [hWnd] { return isCursorOverWindow(hWnd); }))
+                onWmMouseLeave(hWnd);
+            break;
+
         case WM_NCLBUTTONDOWN:
         case WM_NCLBUTTONUP:
             if (wParam == HTMINBUTTON || wParam == HTMAXBUTTON || wParam == HTCLOSE) {
@@ -286,6 +380,15 @@ LRESULT CALLBACK NfxWinProc::WindowProc(HWND hWnd, int uMsg, WPARAM wParam, LPAR
             fireStateChangedLaterOnce();
             break;
 
+        case WM_DPICHANGED:
+        case WM_SETTINGCHANGE:
+            metrics.invalidateDpi();
+            break;
+
+        case WM_STYLECHANGED:
+            metrics.invalidateStyle();
+            break;
+
         case WM_SIZE:
             if (wmSizeWParam >= 0)
                 wParam = wmSizeWParam;
@@ -337,7 +440,11 @@ LRESULT NfxWinProc::WmDestroy(HWND hWnd, int uMsg, WPARAM wParam, LPARAM lParam)
     WNDPROC defaultWndProc2 = defaultWndProc;
 
     // cleanup
-    getEnv()->DeleteGlobalRef(obj);
+    JNIEnv *env = nfx::jniEnv();
+    if (env != nullptr) {
+        releaseHitTable(env);
+        env->DeleteGlobalRef(obj);
+    }
     if (background != nullptr)
         ::DeleteObject(background);
     hwndMap->remove(hWnd);
@@ -381,6 +488,7 @@ LRESULT NfxWinProc::WmNcCalcSize(HWND hWnd, int uMsg, WPARAM wParam, LPARAM lPar
         return ::CallWindowProc(defaultWndProc, hWnd, uMsg, wParam, lParam);
 
     auto *params = reinterpret_cast<NCCALCSIZE_PARAMS *>(lParam);
+    const RECT windowRect = params->rgrc[0];
 
     // Temporarily disable drawing to avoid flicker during resizing
     SendMessage(hWnd, WM_SETREDRAW, FALSE, 0);
@@ -416,6 +524,14 @@ LRESULT NfxWinProc::WmNcCalcSize(HWND hWnd, int uMsg, WPARAM wParam, LPARAM lPar
         params->rgrc[0] = params->rgrc[1];
     }
 
+    // Remember the frame left around the client area for the native resize-edge hit test
+    frameInsets = {
+            (std::max)(0, (int) (params->rgrc[0].left - windowRect.left)),
+            0,
+            (std::max)(0, (int) (windowRect.right - params->rgrc[0].right)),
+            (std::max)(0, (int) (windowRect.bottom - params->rgrc[0].bottom))
+    };
+
     // Re-enable drawing and force a redraw to update the window's appearance
     SendMessage(hWnd, WM_SETREDRAW, TRUE, 0);
     InvalidateRect(hWnd, nullptr, TRUE); // Invalidate the window to force a redraw
@@ -432,7 +548,12 @@ LRESULT NfxWinProc::WmNcCalcSize(HWND hWnd, int uMsg, WPARAM wParam, LPARAM lPar
  * @return       The hit test result indicating the area of the window that the cursor is over.
  */
 LRESULT NfxWinProc::WmNcHitTest(HWND hWnd, int uMsg, WPARAM wParam, LPARAM lParam) {
-    // this will handle the left, right and bottom parts of the frame because we didn't change them
+    // 0) Side and bottom resize edges from cached metrics, pointer moves along the frame never reach Java
+    const int edge = resizeEdgeHitTest(hWnd, lParam, nfx::HT_NOWHERE);
+    if (edge != nfx::HT_NOWHERE)
+        return edge;
+
+    // this will handle the remaining non-client parts of the frame because we didn't change them
     LRESULT lResult = ::CallWindowProc(defaultWndProc, hWnd, uMsg, wParam, lParam);
     if (lResult != HTCLIENT)
         return lResult;
@@ -441,28 +562,70 @@ LRESULT NfxWinProc::WmNcHitTest(HWND hWnd, int uMsg, WPARAM wParam, LPARAM lPara
     auto [x, y] = lparamScreenToClient(hWnd, lParam);
 
     // 2) Compute native-only facts in PX (no need to involve Java)
-    const int resizeBorderHeightPx = getResizeHandleHeight(); // uses GetSystemMetricsForDpi
-    const bool isOnResizeBorder = (y < resizeBorderHeightPx) &&
-                                  ((::GetWindowLong(hWnd, GWL_STYLE) & WS_THICKFRAME) != 0);
+    const bool isOnResizeBorder = (y < metrics.resizeBorderY()) && metrics.isResizable();
 
     // 3) Convert PX -> DIP for Java
-    const UINT dpi = ::GetDpiForWindow(hWnd);
-    const int xDip = px_to_dip(x, dpi);
-    const int yDip = px_to_dip(y, dpi);
-
-    return onNcHitTest(xDip, yDip, isOnResizeBorder);
+    const int xDip = metrics.toDip(x);
+    const int yDip = metrics.toDip(y);
+
+    // 4) Spots win over the top resize zone, which only applies where the rules give HT_TOP
+    if (hitTable == nullptr)
+        return resizeEdgeHitTest(hWnd, lParam, onNcHitTest(xDip, yDip, isOnResizeBorder));
+
+    // 5) Resolve from the shared table, cross into Java only on hover transitions
+    const nfx::HitResult hit = nfx::hitTableResolve(hitTable, xDip, yDip, isOnResizeBorder);
+    if (hit.precise) {
+        // Only Java knows the spot's shape, it also moves the hover itself
+        lastHoverIndex = PRECISE_HOVER;
+        return resizeEdgeHitTest(hWnd, lParam, onNcHitTest(xDip, yDip, isOnResizeBorder));
+    }
+    if (hit.index != lastHoverIndex || (hit.index >= 0 && hit.generation != lastHoverGeneration)) {
+        lastHoverIndex = hit.index;
+        lastHoverGeneration = hit.generation;
+        onHoverChanged(hit.index, hit.generation);
+    }
+    return resizeEdgeHitTest(hWnd, lParam, hit.code);
 }
 
 /**
- * Retrieves the height of the resize handle used for resizing the window.
+ * Retrieves the height of the resize handle used for resizing the window, from the metrics cache.
  *
  * @return The height of the resize handle.
  */
 int NfxWinProc::getResizeHandleHeight() {
-    UINT dpi = ::GetDpiForWindow(hwnd);
+    return metrics.resizeBorderY();
+}
 
-    return ::GetSystemMetricsForDpi(SM_CXPADDEDBORDER, dpi)
-           + ::GetSystemMetricsForDpi(SM_CYSIZEFRAME, dpi);
+/**
+ * Classifies the point against the resize edges of a resizable, non-maximized window.
+ * The left, right and bottom zones are the frame the default procedure left around the client
+ * area and are resolved before anything else. The top zone lies inside the client area (the
+ * top frame is removed in WmNcCalcSize), under the hit spots: it only refines an HT_TOP the
+ * spot rules already returned, into a top corner where it applies.
+ *
+ * @param hWnd   The handle to the window.
+ * @param lParam The screen coordinates of the point, as received with WM_NCHITTEST.
+ * @param code   HTNOWHERE to classify the frame, otherwise the code resolved for the client area.
+ * @return       The frame's HT* resize code or HTNOWHERE, respectively the code, refined.
+ */
+int NfxWinProc::resizeEdgeHitTest(HWND hWnd, LPARAM lParam, int code) {
+    if (!metrics.isResizable() || ::IsZoomed(hWnd))
+        return code;
+
+    RECT rc;
+    if (!::GetWindowRect(hWnd, &rc))
+        return code;
+
+    const int x = GET_X_LPARAM(lParam) - rc.left;
+    const int y = GET_Y_LPARAM(lParam) - rc.top;
+    const int width = rc.right - rc.left;
+    const int height = rc.bottom - rc.top;
+    const int borderX = metrics.resizeBorderX();
+    const int borderY = metrics.resizeBorderY();
+    const nfx::ResizeBorders borders{frameInsets.left, borderY, frameInsets.right, frameInsets.bottom};
+    if (code == HTNOWHERE)
+        return nfx::hitTestFrameEdge(x, y, width, height, borders, borderX * 2, borderY * 2);
+    return nfx::refineTopEdge(code, x, y, width, height, borders, borderX * 2, borderY * 2);
 }
 
 /**
@@ -482,41 +645,21 @@ bool NfxWinProc::hasAutoHideTaskbar(int edge, RECT rcMonitor) {
 }
 
 /**
- * Checks whether the window is in full-screen mode.
+ * Checks whether the window is in full-screen mode, as last pushed by Java.
  *
  * @return True if the window is in full-screen mode, false otherwise.
  */
 BOOL NfxWinProc::isFullscreen() {
-    JniAttachGuard guard(jvm);
-    JNIEnv *at_env = guard.env();
-    if (!at_env)
-        return FALSE;
-
-    jboolean r = at_env->CallBooleanMethod(obj, isFullscreenMID);
-
-    if (at_env->ExceptionCheck()) {
-        at_env->ExceptionClear();
-        r = JNI_FALSE;
-    }
-    return (r == JNI_TRUE) ? TRUE : FALSE;
+    return mirroredFullscreen ? TRUE : FALSE;
 }
 
 /**
- * Checks whether the window is maximized.
+ * Checks whether the window is maximized, as last pushed by Java.
  *
  * @return True if the window is maximized, false otherwise.
  */
 BOOL NfxWinProc::isMaximized() {
-    JniAttachGuard guard(jvm);
-    JNIEnv *at_env = guard.env();
-    if (!at_env) return FALSE;
-
-    jboolean r = at_env->CallBooleanMethod(obj, isMaximizedMID);
-    if (at_env->ExceptionCheck()) {
-        at_env->ExceptionClear();
-        return FALSE;
-    }
-    return (r == JNI_TRUE) ? TRUE : FALSE; // convert jboolean -> BOOL
+    return mirroredMaximized ? TRUE : FALSE;
 }
 
 /**
@@ -528,71 +671,70 @@ BOOL NfxWinProc::isMaximized() {
  * @return                 The hit test result indicating the area of the window that the cursor is over.
  */
 int NfxWinProc::onNcHitTest(int x, int y, boolean isOnResizeBorder) {
-    JniAttachGuard guard(jvm); // jvm is your cached JavaVM*
-    JNIEnv *at_env = guard.env();
-    if (!at_env) {
-        // Failed to get/attach env; fall back
-        return isOnResizeBorder ? HTTOP : HTCLIENT;
-    }
-    jint result = at_env->CallIntMethod(obj, onNcHitTestMID,
-                                        (jint) x, (jint) y, (jboolean) isOnResizeBorder);
-    if (at_env->ExceptionCheck()) {
-        at_env->ExceptionClear();
-        return isOnResizeBorder ? HTTOP : HTCLIENT;
-    }
-    return result;
+    // no env or a Java exception fall back to the border or the client area
+    return nfx::jniCallInt(obj, onNcHitTestMID, isOnResizeBorder ? HTTOP : HTCLIENT,
+                           (jint) x, (jint) y, (jboolean) isOnResizeBorder);
+}
+
+/**
+ * Notifies Java that the spot under the pointer changed.
+ *
+ * @param index      The index of the spot now under the pointer, or -1.
+ * @param generation The table generation the index refers to.
+ */
+void NfxWinProc::onHoverChanged(int index, int generation) {
+    nfx::jniCallVoid(obj, onHoverChangedMID, (jint) index, (jint) generation);
 }
 
 /**
- * Handles the WM_MOUSELEAVE message for the specified window.
+ * Notifies Java that the pointer left the window, called once per enter-to-leave transition.
  *
  * @param hWnd The handle to the window receiving the message.
  */
 void NfxWinProc::onWmMouseLeave(HWND hWnd) {
-    POINT point;
-    GetCursorPos(&point);
-    HWND under = WindowFromPoint(point);
-    if (under != hWnd) {
-        JniAttachGuard guard(jvm);
-        JNIEnv *at_env = guard.env();
-        if (!at_env) return;
-
-        at_env->CallVoidMethod(obj, onWmMouseLeaveMID);
+    // the native hover starts over when the pointer comes back
+    lastHoverIndex = -1;
 
-        if (at_env->ExceptionCheck()) {
-            at_env->ExceptionClear();
-        }
-    }
+    nfx::jniCallVoid(obj, onWmMouseLeaveMID);
 }
 
 /**
- * Fires a state changed event later, ensuring that it happens only once.
- * This method schedules the state changed event to be fired later, but ensures
- * that it will be fired only once even if called multiple times.
+ * Arms leave tracking for the client or the non-client area if it is not armed yet.
+ *
+ * @param hWnd      The handle to the window receiving the message.
+ * @param nonClient Whether the pointer moved over the non-client area.
  */
-void NfxWinProc::fireStateChangedLaterOnce() {
-    JniAttachGuard guard(jvm);
-    JNIEnv *at_env = guard.env();
-    if (!at_env) return;
-
-    at_env->CallVoidMethod(obj, fireStateChangeMID);
+void NfxWinProc::trackMouseLeave(HWND hWnd, bool nonClient) {
+    if (!mouseTracker.onMouseMove(nonClient))
+        return;
 
-    if (at_env->ExceptionCheck()) {
-        at_env->ExceptionClear();
-    }
+    TRACKMOUSEEVENT tme{};
+    tme.cbSize = sizeof(tme);
+    tme.dwFlags = TME_LEAVE | (nonClient ? TME_NONCLIENT : 0);
+    tme.hwndTrack = hWnd;
+    ::TrackMouseEvent(&tme);
 }
 
 /**
- * Retrieves the Java environment pointer associated with the current thread.
+ * Checks whether the cursor is over the window, only probed when a leave may be real.
  *
- * @return The Java environment pointer (JNIEnv) associated with the current thread.
+ * @param hWnd The handle to the window.
+ * @return     True if the window is the one under the cursor.
  */
-JNIEnv *NfxWinProc::getEnv() {
-    if (env != nullptr)
-        return env;
+bool NfxWinProc::isCursorOverWindow(HWND hWnd) {
+    POINT point;
+    if (!::GetCursorPos(&point))
+        return false;
+    return ::WindowFromPoint(point) == hWnd;
+}
 
-    jvm->GetEnv((void **) &env, JNI_VERSION_1_2);
-    return env;
+/**
+ * Fires a state changed event later, ensuring that it happens only once.
+ * This method schedules the state changed event to be fired later, but ensures
+ * that it will be fired only once even if called multiple times.
+ */
+void NfxWinProc::fireStateChangedLaterOnce() {
+    nfx::jniCallVoid(obj, fireStateChangeMID);
 }
 
 /**
@@ -737,3 +879,29 @@ JNIEXPORT void JNICALL Java_xss_it_nfx_AbstractNfxUndecoratedWindow_update
 (JNIEnv *env, jobject obj, jlong hWnd, jboolean max, jboolean full) {
     NfxWinProc::update(to_hwnd(hWnd), max, full);
 }
+
+
+/**
+ * Mirrors the window state pushed by Java.
+ *
+ * @param hWnd      The handle of the window
+ * @param max       True if the window is maximized, false otherwise
+ * @param full      True if the window is in full-screen mode, false otherwise
+ */
+extern "C"
+JNIEXPORT void JNICALL Java_xss_it_nfx_AbstractNfxUndecoratedWindow_mirrorState
+(JNIEnv *env, jobject obj, jlong hWnd, jboolean max, jboolean full) {
+    NfxWinProc::mirrorState(to_hwnd(hWnd), max, full);
+}
+
+/**
+ * Sets the hit-spot table shared with Java.
+ *
+ * @param hWnd  The handle of the window
+ * @param table Direct ByteBuffer holding the table
+ */
+extern "C"
+JNIEXPORT void JNICALL Java_xss_it_nfx_AbstractNfxUndecoratedWindow_setHitTable
+(JNIEnv *env, jobject obj, jlong hWnd, jobject table) {
+    NfxWinProc::setHitTable(env, to_hwnd(hWnd), table);
+}
\ No newline at end of file
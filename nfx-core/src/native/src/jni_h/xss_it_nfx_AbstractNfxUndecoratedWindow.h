@@ -41,6 +41,22 @@ extern "C" {
  JNIEXPORT void JNICALL Java_xss_it_nfx_AbstractNfxUndecoratedWindow_update
    (JNIEnv *, jobject, jlong, jboolean, jboolean);
 
+ /*
+  * Class:     xss_it_nfx_AbstractNfxUndecoratedWindow
+  * Method:    setHitTable
+  * Signature: (JLjava/nio/ByteBuffer;)V
+  */
+ JNIEXPORT void JNICALL Java_xss_it_nfx_AbstractNfxUndecoratedWindow_setHitTable
+   (JNIEnv *, jobject, jlong, jobject);
+
+ /*
+  * Class:     xss_it_nfx_AbstractNfxUndecoratedWindow
+  * Method:    mirrorState
+  * Signature: (JZZ)V
+  */
+ JNIEXPORT void JNICALL Java_xss_it_nfx_AbstractNfxUndecoratedWindow_mirrorState
+   (JNIEnv *, jobject, jlong, jboolean, jboolean);
+
 
 #ifdef __cplusplus
 }
@@ -18,6 +18,8 @@ extern "C" {
 #define xss_it_nfx_NfxUtil_DWM_WCP_ROUND 2L
 #undef xss_it_nfx_NfxUtil_DWM_WCP_ROUND_SMALL
 #define xss_it_nfx_NfxUtil_DWM_WCP_ROUND_SMALL 3L
+#undef xss_it_nfx_NfxUtil_NATIVE_INTERFACE
+#define xss_it_nfx_NfxUtil_NATIVE_INTERFACE 1L
 /*
  * Class:     xss_it_nfx_NfxUtil
  * Method:    getNativeHandle
@@ -28,35 +30,11 @@ JNIEXPORT jlong JNICALL Java_xss_it_nfx_NfxUtil_getNativeHandle
 
 /*
  * Class:     xss_it_nfx_NfxUtil
- * Method:    setTitleBarColor
- * Signature: (JDDD)V
+ * Method:    applyAttributes
+ * Signature: (JIIIII)I
  */
-JNIEXPORT void JNICALL Java_xss_it_nfx_NfxUtil_setTitleBarColor
-(JNIEnv *, jclass, jlong, jdouble, jdouble, jdouble);
-
-/*
- * Class:     xss_it_nfx_NfxUtil
- * Method:    setTextColor
- * Signature: (JDDD)V
- */
-JNIEXPORT void JNICALL Java_xss_it_nfx_NfxUtil_setTextColor
-(JNIEnv *, jclass, jlong, jdouble, jdouble, jdouble);
-
-/*
- * Class:     xss_it_nfx_NfxUtil
- * Method:    setCornerPreference
- * Signature: (JI)Z
- */
-JNIEXPORT jboolean JNICALL Java_xss_it_nfx_NfxUtil_setCornerPreference
-(JNIEnv *, jobject, jlong, jint);
-
-/*
- * Class:     xss_it_nfx_NfxUtil
- * Method:    setBorderColor
- * Signature: (JIII)Z
- */
-JNIEXPORT jboolean JNICALL Java_xss_it_nfx_NfxUtil_setBorderColor
-(JNIEnv *, jobject, jlong, jint, jint, jint);
+JNIEXPORT jint JNICALL Java_xss_it_nfx_NfxUtil_applyAttributes
+(JNIEnv *, jclass, jlong, jint, jint, jint, jint, jint);
 
 
  /*
@@ -67,6 +45,14 @@ JNIEXPORT jboolean JNICALL Java_xss_it_nfx_NfxUtil_setBorderColor
  JNIEXPORT void JNICALL Java_xss_it_nfx_NfxUtil_focusWindow
    (JNIEnv *, jclass, jstring);
 
+/*
+ * Class:     xss_it_nfx_NfxUtil
+ * Method:    nativeInterface
+ * Signature: ()I
+ */
+JNIEXPORT jint JNICALL Java_xss_it_nfx_NfxUtil_nativeInterface
+  (JNIEnv *, jclass);
+
 
 #ifdef __cplusplus
 }
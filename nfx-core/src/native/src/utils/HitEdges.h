@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Classification of a point against the eight resize edges of a window frame.
+  * Platform neutral on purpose: no windows.h, so it can be compiled and checked on any OS.
+  * All values are physical pixels relative to the window rectangle.
+  */
+#pragma once
+
+#ifndef NFX_CORE_WIN64_HIT_EDGES_H
+#define NFX_CORE_WIN64_HIT_EDGES_H
+
+#include <cstdint>
+
+namespace nfx {
+
+    /**
+     * Resize hit-test codes, same values as the Win32 HT* constants.
+     */
+    constexpr int32_t HT_NOWHERE = 0;
+    constexpr int32_t HT_LEFT = 10;
+    constexpr int32_t HT_RIGHT = 11;
+    constexpr int32_t HT_TOP = 12;
+    constexpr int32_t HT_TOPLEFT = 13;
+    constexpr int32_t HT_TOPRIGHT = 14;
+    constexpr int32_t HT_BOTTOM = 15;
+    constexpr int32_t HT_BOTTOMLEFT = 16;
+    constexpr int32_t HT_BOTTOMRIGHT = 17;
+
+    /**
+     * Thickness of the resize zone along each edge, 0 disables the edge.
+     */
+    struct ResizeBorders {
+        int left;
+        int top;
+        int right;
+        int bottom;
+    };
+
+    /**
+     * Classifies a point against the resize edges of a window.
+     * Corners reach further along the edges they join, like the default frame does, but only
+     * when both joined edges are enabled.
+     *
+     * @param x       x relative to the window's left edge
+     * @param y       y relative to the window's top edge
+     * @param width   window width
+     * @param height  window height
+     * @param borders resize zone thickness per edge
+     * @param cornerX horizontal reach of a corner from the left and right edges
+     * @param cornerY vertical reach of a corner from the top and bottom edges
+     * @return one of the HT_* resize codes above, or HT_NOWHERE when the point is on no edge
+     */
+    inline int32_t hitTestResizeEdge(int x, int y, int width, int height,
+                                     const ResizeBorders &borders, int cornerX, int cornerY) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return HT_NOWHERE;
+
+        const bool nearLeft = x < borders.left;
+        const bool nearRight = x >= width - borders.right;
+        const bool nearTop = y < borders.top;
+        const bool nearBottom = y >= height - borders.bottom;
+        if (!nearLeft && !nearRight && !nearTop && !nearBottom)
+            return HT_NOWHERE;
+
+        const bool horizontal = nearTop || nearBottom;
+        const bool vertical = nearLeft || nearRight;
+        const bool left = borders.left > 0 && (nearLeft || (horizontal && x < cornerX));
+        const bool right = borders.right > 0 && (nearRight || (horizontal && x >= width - cornerX));
+        const bool top = borders.top > 0 && (nearTop || (vertical && y < cornerY));
+        const bool bottom = borders.bottom > 0 && (nearBottom || (vertical && y >= height - cornerY));
+
+        if (top)
+            return left ? HT_TOPLEFT : right ? HT_TOPRIGHT : HT_TOP;
+        if (bottom)
+            return left ? HT_BOTTOMLEFT : right ? HT_BOTTOMRIGHT : HT_BOTTOM;
+        return left ? HT_LEFT : right ? HT_RIGHT : HT_NOWHERE;
+    }
+
+    /**
+     * Classifies a point of the frame left around the client area: the left, right and bottom
+     * zones, with the corners reaching into them. Those pixels hold no hit spot, so this runs
+     * before the hit table. The top zone lies inside the client area, under the spots, and is
+     * left to refineTopEdge.
+     *
+     * @return one of the HT_* resize codes, or HT_NOWHERE when the point is not on the frame
+     */
+    inline int32_t hitTestFrameEdge(int x, int y, int width, int height,
+                                    const ResizeBorders &borders, int cornerX, int cornerY) {
+        const bool onFrame = x < borders.left || x >= width - borders.right || y >= height - borders.bottom;
+        return onFrame ? hitTestResizeEdge(x, y, width, height, borders, cornerX, cornerY) : HT_NOWHERE;
+    }
+
+    /**
+     * Refines the outcome of the hit table, or of the Java hit test, on the top resize zone.
+     * Spots keep their code: only HT_TOP, returned when no spot or a caption spot is under
+     * the point, becomes HT_TOPLEFT or HT_TOPRIGHT near the corners.
+     *
+     * @param code the resolved HT code
+     * @return the code, refined to a top corner where it applies
+     */
+    inline int32_t refineTopEdge(int32_t code, int x, int y, int width, int height,
+                                 const ResizeBorders &borders, int cornerX, int cornerY) {
+        if (code != HT_TOP)
+            return code;
+        const int32_t edge = hitTestResizeEdge(x, y, width, height, borders, cornerX, cornerY);
+        return edge == HT_TOPLEFT || edge == HT_TOPRIGHT ? edge : HT_TOP;
+    }
+}
+
+#endif //NFX_CORE_WIN64_HIT_EDGES_H
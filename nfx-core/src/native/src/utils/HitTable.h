@@ -0,0 +1,227 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Hit-spot table shared with Java (xss.it.nfx.HitTestTable) through a direct ByteBuffer.
+  * Platform neutral on purpose: no windows.h, so the layout and the lookup can be compiled
+  * and checked on any OS against the Java implementation.
+  *
+  *  offset  size  field
+  *  0       4     generation     (odd while Java is writing)
+  *  4       4     count
+  *  8       8     titleBarHeight (DIP)
+  *  16      80*n  entries in tree pre-order:
+  *                  0   minX, minY, maxX, maxY          (double, DIP, inclusive)
+  *                  32  subtree minX, minY, maxX, maxY  (double, DIP, inclusive)
+  *                  64  code (int32), end (int32, exclusive subtree end), flags (int32), reserved (int32)
+  *
+  * The subtree of entry i spans [i, end). Lookups try children before their parent, so the
+  * innermost spot wins, and skip a subtree whose bounds miss the point.
+  *
+  * Entries flagged HIT_FLAG_PRECISE are only a rectangle prefilter here: their shape is known to
+  * Java alone, so a hit on one is reported as precise and must be resolved by the Java hit test.
+  */
+#pragma once
+
+#ifndef NFX_CORE_WIN64_HIT_TABLE_H
+#define NFX_CORE_WIN64_HIT_TABLE_H
+
+#include <atomic>
+#include <cstdint>
+#include <cstring>
+#include <vector>
+
+#include "HitEdges.h"
+
+namespace nfx {
+
+    /**
+     * Hit-test codes, same values as the Win32 HT* constants.
+     */
+    constexpr int32_t HT_CLIENT = 1;
+    constexpr int32_t HT_CAPTION = 2;
+
+    /**
+     * Entry flag: the spot must be confirmed against its shape by Java.
+     */
+    constexpr int32_t HIT_FLAG_PRECISE = 1;
+
+    constexpr size_t HIT_TABLE_HEADER_BYTES = 16;
+    constexpr size_t HIT_TABLE_ENTRY_BYTES = 80;
+
+    /**
+     * One entry of the table, as written by Java.
+     */
+    struct HitEntry {
+        double minX;
+        double minY;
+        double maxX;
+        double maxY;
+        double subMinX;
+        double subMinY;
+        double subMaxX;
+        double subMaxY;
+        int32_t code;
+        int32_t end;
+        int32_t flags;
+        int32_t reserved;
+    };
+
+    static_assert(sizeof(HitEntry) == HIT_TABLE_ENTRY_BYTES, "HitEntry must match the Java layout");
+
+    /**
+     * Outcome of a lookup.
+     */
+    struct HitResult {
+        /** The HT code to return from WM_NCHITTEST. */
+        int32_t code;
+        /** Index of the spot under the point, or -1. */
+        int32_t index;
+        /** Generation of the table the index refers to. */
+        int32_t generation;
+        /** True when the hit is on a precise spot, code and index are then only a prefilter. */
+        bool precise;
+    };
+
+    /**
+     * Reads the generation counter with acquire semantics.
+     */
+    inline int32_t hitTableGeneration(const unsigned char *table) {
+        int32_t g;
+        std::memcpy(&g, table, sizeof(g));
+        std::atomic_thread_fence(std::memory_order_acquire);
+        return g;
+    }
+
+    /**
+     * Reads entry i of the table.
+     */
+    inline HitEntry hitTableEntry(const unsigned char *table, int32_t i) {
+        HitEntry e;
+        std::memcpy(&e, table + HIT_TABLE_HEADER_BYTES + i * HIT_TABLE_ENTRY_BYTES, sizeof(e));
+        return e;
+    }
+
+    /**
+     * Checks whether the entry's own rectangle contains the point.
+     */
+    inline bool hitEntryContains(const HitEntry &e, double x, double y) {
+        return x >= e.minX && x <= e.maxX && y >= e.minY && y <= e.maxY;
+    }
+
+    /**
+     * Searches the subtree of entry root, children before the entry itself.
+     * NaN rectangles (spots without geometry) never match.
+     * Iterative, with the ancestors of the current entry on an explicit stack reused by the
+     * thread, so deep containers cannot overflow the window procedure's stack.
+     *
+     * @return the entry index, or -1
+     */
+    inline int32_t hitTableSearch(const unsigned char *table, int32_t root, int32_t count, double x, double y) {
+        static thread_local std::vector<int32_t> ancestors;
+        ancestors.clear();
+        int32_t i = root;
+        HitEntry e = hitTableEntry(table, i);
+        for (;;) {
+            if (x >= e.subMinX && x <= e.subMaxX && y >= e.subMinY && y <= e.subMaxY) {
+                if (i + 1 < e.end && i + 1 < count) {
+                    ancestors.push_back(i); // first child
+                    e = hitTableEntry(table, ++i);
+                    continue;
+                }
+                if (hitEntryContains(e, x, y))
+                    return i;
+            }
+            // the subtree of i missed: next sibling, or the parent itself after its last child
+            for (;;) {
+                if (ancestors.empty())
+                    return -1;
+                const int32_t parent = ancestors.back();
+                const HitEntry p = hitTableEntry(table, parent);
+                // an end not past i is a torn read, the generation check makes the caller retry
+                if (e.end > i && e.end < p.end && e.end < count) {
+                    i = e.end;
+                    e = hitTableEntry(table, i);
+                    break;
+                }
+                ancestors.pop_back();
+                if (hitEntryContains(p, x, y))
+                    return parent;
+                i = parent;
+                e = p;
+            }
+        }
+    }
+
+    /**
+     * Finds the innermost entry containing the point, the first one among siblings.
+     *
+     * @return the entry index, or -1
+     */
+    inline int32_t hitTableFind(const unsigned char *table, double x, double y, int32_t *code, int32_t *flags) {
+        int32_t count;
+        std::memcpy(&count, table + 4, sizeof(count));
+        for (int32_t i = 0; i < count; ) {
+            const int32_t hit = hitTableSearch(table, i, count, x, y);
+            if (hit >= 0) {
+                const HitEntry e = hitTableEntry(table, hit);
+                *code = e.code;
+                *flags = e.flags;
+                return hit;
+            }
+            const int32_t end = hitTableEntry(table, i).end;
+            i = end > i ? end : i + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Resolves a non-client hit test from the table, with the same rules as
+     * AbstractNfxUndecoratedWindow#jniHitTest.
+     * A hit on a precise spot is flagged in the result and left to the caller.
+     * Retries while Java is writing (odd generation or generation moved during the read).
+     *
+     * @param table            the shared table
+     * @param x                x in DIP, client coordinates
+     * @param y                y in DIP, client coordinates
+     * @param isOnResizeBorder whether the point is on the top resize border
+     */
+    inline HitResult hitTableResolve(const unsigned char *table, int x, int y, bool isOnResizeBorder) {
+        for (;;) {
+            const int32_t gen = hitTableGeneration(table);
+            if (gen & 1) continue;
+
+            double titleBarHeight;
+            std::memcpy(&titleBarHeight, table + 8, sizeof(titleBarHeight));
+
+            HitResult r{isOnResizeBorder ? HT_TOP : HT_CLIENT, -1, gen, false};
+            if (y < titleBarHeight) {
+                int32_t code = 0, flags = 0;
+                r.index = hitTableFind(table, x, y, &code, &flags);
+                r.precise = r.index >= 0 && (flags & HIT_FLAG_PRECISE) != 0;
+                if (r.index < 0 || code == HT_CAPTION)
+                    r.code = isOnResizeBorder ? HT_TOP : HT_CAPTION;
+                else
+                    r.code = code;
+            }
+
+            std::atomic_thread_fence(std::memory_order_acquire);
+            if (hitTableGeneration(table) == gen)
+                return r;
+        }
+    }
+}
+
+#endif //NFX_CORE_WIN64_HIT_TABLE_H
@@ -7,13 +7,14 @@
 #pragma once
 
 #include <windows.h>
+#include <cstdint>
 
-struct Entry
-{
-    HWND key;
-    LPVOID value;
-};
+#include "ReadMostlyMap.h"
 
+/**
+ * Maps window handles to their NfxWinProc. Looked up on every window message and only
+ * changed on install and uninstall, so lookups are lock-free and changes copy the table.
+ */
 class HwndMap
 {
 public:
@@ -49,40 +50,10 @@ public:
 
 
 private:
- /**
-  * The size of the map (number of entries).
-  */
- int size;
-
- /**
-  * The capacity of the map (maximum number of entries before resizing).
-  */
- int capacity;
-
- /**
-  * An array of Entry objects representing the hash table.
-  */
- Entry* table;
-
- /**
-  * A CRITICAL_SECTION object used for thread safety.
-  */
- CRITICAL_SECTION criticalSection{};
-
- /**
-  * Performs a binary search to find the index of the specified key in the map.
-  *
-  * @param key The HWND key to search for.
-  * @return    The index of the key if found, or the index where the key should be inserted if not found.
-  */
- int binarySearch(HWND key);
-
- /**
-  * Ensures that the map has enough capacity to accommodate new entries.
-  * This method is called internally to resize the map if necessary.
-  */
- void ensureCapacity();
-
+    /**
+     * Handles by address, sorted for binary search.
+     */
+    nfx::ReadMostlyMap<uintptr_t, LPVOID> map;
 };
 
 #endif
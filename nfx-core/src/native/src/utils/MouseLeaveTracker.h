@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Mouse-leave state machine for a window with a client and a non-client area.
+  * Platform neutral on purpose: no windows.h, the caller maps messages onto it
+  * (WM_MOUSEMOVE / WM_NCMOUSEMOVE -> onMouseMove, WM_MOUSELEAVE / WM_NCMOUSELEAVE -> onMouseLeave)
+  * and arms TrackMouseEvent when asked to, so a synthetic message sequence can check it on any OS.
+  *
+  * Windows reports a leave for the client area when the pointer moves onto the title bar and
+  * the other way round, so a leave only counts when the other area is not tracked and the
+  * pointer really is off the window; the probe for the latter only runs on leave messages.
+  */
+#pragma once
+
+#ifndef NFX_CORE_WIN64_MOUSE_LEAVE_TRACKER_H
+#define NFX_CORE_WIN64_MOUSE_LEAVE_TRACKER_H
+
+namespace nfx {
+
+    class MouseLeaveTracker {
+    public:
+        /**
+         * Handles a mouse move over the client or the non-client area.
+         *
+         * @param nonClient whether the move is over the non-client area
+         * @return true if leave tracking must be armed for that area (TrackMouseEvent)
+         */
+        bool onMouseMove(bool nonClient) {
+            inside_ = true;
+            bool &armed = nonClient ? nonClientArmed_ : clientArmed_;
+            if (armed) return false;
+            armed = true;
+            return true;
+        }
+
+        /**
+         * Handles the end of leave tracking for the client or the non-client area.
+         *
+         * @param nonClient           whether the leave is for the non-client area
+         * @param isCursorOverWindow  probe called only when the leave may be real
+         * @return true exactly once per enter-to-leave transition
+         */
+        template<typename Probe>
+        bool onMouseLeave(bool nonClient, Probe isCursorOverWindow) {
+            (nonClient ? nonClientArmed_ : clientArmed_) = false;
+            if (!inside_ || clientArmed_ || nonClientArmed_)
+                return false; // moved between the two areas of the same window
+            if (isCursorOverWindow())
+                return false; // the move into the other area has not been seen yet
+            inside_ = false;
+            return true;
+        }
+
+        /**
+         * Forgets all tracking, e.g. when the window procedure is reinstalled.
+         */
+        void reset() {
+            inside_ = clientArmed_ = nonClientArmed_ = false;
+        }
+
+        /**
+         * Whether the pointer is considered over the window.
+         */
+        bool isInside() const { return inside_; }
+
+    private:
+        bool inside_ = false;
+        bool clientArmed_ = false;
+        bool nonClientArmed_ = false;
+    };
+}
+
+#endif //NFX_CORE_WIN64_MOUSE_LEAVE_TRACKER_H
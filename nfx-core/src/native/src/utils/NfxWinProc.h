@@ -7,14 +7,17 @@
 #pragma once
 
 #include <windows.h>
+#include <windowsx.h>
 #include "HwndMap.h"
+#include "HitEdges.h"
+#include "WindowMetrics.h"
+#include "MouseLeaveTracker.h"
 #include <jni.h>
 
 #define JNI_ON_NC_HIT_TEST_MDI              "jniHitTest"
-#define JNI_IS_FULL_SCREEN_MDI              "jniIsFullScreen"
-#define JNI_IS_MAXIMIZED_MDI                "jniIsMaximized"
 #define JNI_FIRE_STATE_CHANGE_MDI           "jniFireStateChanged"
 #define JNI_INVALIDATE_MDI                  "jniInvalidateSpots"
+#define JNI_HOVER_CHANGED_MDI               "jniHoverChanged"
 
 #ifndef DWMWA_COLOR_DEFAULT
 #define DWMWA_WINDOW_CORNER_PREFERENCE		33
@@ -34,6 +37,34 @@ typedef enum {
 #endif
 
 
+/**
+ * Win32 source of the per-window metrics cached by nfx::WindowMetrics.
+ */
+class Win32MetricsProvider : public nfx::MetricsProvider {
+public:
+    /**
+     * The window the metrics are read from.
+     */
+    HWND hwnd = nullptr;
+
+    uint32_t dpi() const override {
+        return ::GetDpiForWindow(hwnd);
+    }
+
+    int resizeBorderX(uint32_t dpi) const override {
+        return ::GetSystemMetricsForDpi(SM_CXPADDEDBORDER, dpi) + ::GetSystemMetricsForDpi(SM_CXSIZEFRAME, dpi);
+    }
+
+    int resizeBorderY(uint32_t dpi) const override {
+        return ::GetSystemMetricsForDpi(SM_CXPADDEDBORDER, dpi) + ::GetSystemMetricsForDpi(SM_CYSIZEFRAME, dpi);
+    }
+
+    uint32_t style() const override {
+        return static_cast<uint32_t>(::GetWindowLong(hwnd, GWL_STYLE));
+    }
+};
+
+
 class NfxWinProc {
 public:
     /**
@@ -66,6 +97,15 @@ public:
      */
     static void update(HWND hwnd, bool max, bool full);
 
+    /**
+     * Stores the window state pushed by Java, answered later without calling back into Java.
+     *
+     * @param hwnd The handle of the window
+     * @param max  True if the window is maximized, false otherwise
+     * @param full True if the window is in full-screen mode, false otherwise
+     */
+    static void mirrorState(HWND hwnd, bool max, bool full);
+
     /**
      * Sets the background color of the window using native code.
      *
@@ -76,26 +116,33 @@ public:
      */
     static void setWindowBackground(HWND hwnd, int r, int g, int b);
 
-private:
     /**
-     * Represents the initialization status.
+     * Sets the hit-spot table shared with Java.
+     *
+     * @param env    The JNI environment
+     * @param hwnd   The handle of the window
+     * @param buffer Direct ByteBuffer laid out as described in HitTable.h, or null to clear
      */
-    static int initialized;
+    static void setHitTable(JNIEnv *env, HWND hwnd, jobject buffer);
 
     /**
-     * Method ID for the onNcHitTest method.
+     * Resolves the Java callbacks once, called from JNI_OnLoad.
+     *
+     * @param env The JNI environment
+     * @param cls The AbstractNfxUndecoratedWindow class
      */
-    static jmethodID onNcHitTestMID;
+    static void initializeJavaCallBacks(JNIEnv *env, jclass cls);
 
+private:
     /**
-     * Method ID for the isFullscreen method.
+     * Represents the initialization status.
      */
-    static jmethodID isFullscreenMID;
+    static int initialized;
 
     /**
-     * Method ID for the isMaximized method.
+     * Method ID for the onNcHitTest method.
      */
-    static jmethodID isMaximizedMID;
+    static jmethodID onNcHitTestMID;
 
     /**
      * Method ID for the fireStateChange method.
@@ -107,21 +154,16 @@ private:
      */
     static jmethodID onWmMouseLeaveMID;
 
-
     /**
-     * Represents the mapping of window handles to Java objects.
+     * Method ID for the onHoverChanged method.
      */
-    static HwndMap *hwndMap;
+    static jmethodID onHoverChangedMID;
 
-    /**
-     * The Java Virtual Machine instance.
-     */
-    JavaVM *jvm;
 
     /**
-     * The JNI environment.
+     * Represents the mapping of window handles to Java objects.
      */
-    JNIEnv *env;
+    static HwndMap *hwndMap;
 
     /**
      * The Java object associated with the window.
@@ -158,13 +200,74 @@ private:
      */
     bool isMoving;
 
+    /**
+     * Global reference keeping the shared hit table buffer alive.
+     */
+    jobject hitTableRef;
+
+    /**
+     * Address of the shared hit table, or nullptr to resolve hit tests in Java.
+     */
+    const unsigned char *hitTable;
+
+    /**
+     * Value of lastHoverIndex after Java resolved a precise spot and moved the hover itself.
+     */
+    static constexpr int PRECISE_HOVER = -2;
+
+    /**
+     * Spot index reported to Java by the last hover transition, or PRECISE_HOVER.
+     */
+    int lastHoverIndex;
+
+    /**
+     * Table generation of the last hover transition.
+     */
+    int lastHoverGeneration;
+
+    /**
+     * Reads the window metrics through Win32, declared before the cache that uses it.
+     */
+    Win32MetricsProvider metricsProvider;
+
+    /**
+     * Cached DPI, resize border thickness and style, invalidated by the window procedure.
+     */
+    nfx::WindowMetrics metrics;
+
+    /**
+     * Non-client frame left around the client area by the last WM_NCCALCSIZE, in pixels.
+     * The top is always 0, the client area reaches the top of the window.
+     */
+    nfx::ResizeBorders frameInsets;
+
+    /**
+     * Leave-tracking state, Java is only told about real enter-to-leave transitions.
+     */
+    nfx::MouseLeaveTracker mouseTracker;
+
+    /**
+     * Set while a non-client mouse move is forwarded to the client area.
+     */
+    bool isForwardingMouseMove;
+
+    /**
+     * Maximized state as last pushed by Java.
+     */
+    bool mirroredMaximized;
+
+    /**
+     * Full-screen state as last pushed by Java.
+     */
+    bool mirroredFullscreen;
+
     /**
      * Constructor for NfxWinProc.
      */
     NfxWinProc();
 
     /**
-     * Initializes Java callbacks.
+     * Initializes Java callbacks from the window object, if JNI_OnLoad could not.
      *
      * @param env The JNI environment
      * @param obj The Java object associated with the window
@@ -211,18 +314,24 @@ private:
      */
     int getResizeHandleHeight();
 
+    /**
+     * Resolves the resize edges from the cached frame metrics, without calling Java: the frame
+     * before the hit spots, the top zone after them.
+     */
+    int resizeEdgeHitTest(HWND hWnd, LPARAM lParam, int code);
+
     /**
      * Checks if the taskbar has auto-hide feature.
      */
     static bool hasAutoHideTaskbar(int edge, RECT rcMonitor);
 
     /**
-     * Checks if the window is in fullscreen mode.
+     * Checks if the window is in fullscreen mode, from the state mirrored by Java.
      */
     BOOL isFullscreen();
 
     /**
-    * Checks if the window is maximized.
+    * Checks if the window is maximized, from the state mirrored by Java.
     */
     BOOL isMaximized();
 
@@ -232,19 +341,34 @@ private:
     int onNcHitTest(int x, int y, boolean isOnResizeBorder);
 
     /**
-     * Handles the WM_MOUSELEAVE message.
+     * Notifies Java that the pointer moved to another spot of the hit table.
+     */
+    void onHoverChanged(int index, int generation);
+
+    /**
+     * Releases the shared hit table.
+     */
+    void releaseHitTable(JNIEnv *env);
+
+    /**
+     * Notifies Java that the pointer left the window.
      */
     void onWmMouseLeave(HWND hWnd);
 
     /**
-     * Fires state change event later once.
+     * Arms TrackMouseEvent for the client or the non-client area when needed.
      */
-    void fireStateChangedLaterOnce();
+    void trackMouseLeave(HWND hWnd, bool nonClient);
 
     /**
-     * Gets the JNI environment.
+     * Checks whether the cursor is over the window.
      */
-    JNIEnv *getEnv();
+    static bool isCursorOverWindow(HWND hWnd);
+
+    /**
+     * Fires state change event later once.
+     */
+    void fireStateChangedLaterOnce();
 
     /**
      * Sends a message to the client area of the window.
@@ -269,11 +393,6 @@ private:
         return pt;
     }
 
-    // Helper: px -> DIP using the window's current DPI (Per-Monitor-V2 safe)
-    static int px_to_dip(int px, UINT dpi) {
-        return ::MulDiv(px, 96, static_cast<int>(dpi));  // round properly
-    }
-
 
 };
 
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Sorted map for read-mostly workloads: lookups never lock, writers publish a new copy.
+  * Platform neutral on purpose: only the standard library, so it can be stress-tested on any OS.
+  *
+  * Readers announce themselves on one of two counters, chosen by the parity of an epoch, then
+  * binary-search the table they loaded. A writer (serialized by a mutex) copies the table,
+  * applies its change, swaps the pointer and waits for a grace period before freeing the old
+  * copy: it flips the epoch and waits for the counter readers were using to drain, twice, so a
+  * reader that picked its counter before an earlier flip is waited for as well.
+  */
+#pragma once
+
+#ifndef NFX_CORE_WIN64_READ_MOSTLY_MAP_H
+#define NFX_CORE_WIN64_READ_MOSTLY_MAP_H
+
+#include <atomic>
+#include <mutex>
+#include <thread>
+#include <vector>
+
+namespace nfx {
+
+    template<typename K, typename V>
+    class ReadMostlyMap {
+    public:
+        ReadMostlyMap() = default;
+
+        ReadMostlyMap(const ReadMostlyMap &) = delete;
+
+        ReadMostlyMap &operator=(const ReadMostlyMap &) = delete;
+
+        ~ReadMostlyMap() {
+            delete table_.load();
+        }
+
+        /**
+         * Gets the value mapped to the key, without locking.
+         *
+         * @return the value, or a value-initialized V when the key is absent
+         */
+        V get(K key) const {
+            std::atomic<int> &readers = readers_[epoch_.load() & 1].count;
+            readers.fetch_add(1);
+            const Table *table = table_.load();
+            V value{};
+            if (table != nullptr) {
+                const int index = search(table->entries, key);
+                if (index >= 0)
+                    value = table->entries[index].value;
+            }
+            readers.fetch_sub(1);
+            return value;
+        }
+
+        /**
+         * Maps the key to the value, replacing any previous mapping.
+         *
+         * @return true, kept for the HwndMap contract
+         */
+        bool put(K key, V value) {
+            std::lock_guard<std::mutex> lock(writeLock_);
+            const Table *current = table_.load();
+            auto *next = current != nullptr ? new Table(*current) : new Table();
+            const int index = search(next->entries, key);
+            if (index >= 0)
+                next->entries[index].value = value;
+            else
+                next->entries.insert(next->entries.begin() + (-index - 1), Entry{key, value});
+            publish(next);
+            return true;
+        }
+
+        /**
+         * Removes the mapping of the key, if any.
+         */
+        void remove(K key) {
+            std::lock_guard<std::mutex> lock(writeLock_);
+            const Table *current = table_.load();
+            if (current == nullptr || search(current->entries, key) < 0)
+                return;
+            auto *next = new Table(*current);
+            next->entries.erase(next->entries.begin() + search(next->entries, key));
+            publish(next);
+        }
+
+        /**
+         * Gets the number of mappings.
+         */
+        size_t size() const {
+            std::lock_guard<std::mutex> lock(writeLock_);
+            const Table *table = table_.load();
+            return table != nullptr ? table->entries.size() : 0;
+        }
+
+    private:
+        struct Entry {
+            K key;
+            V value;
+        };
+
+        struct Table {
+            std::vector<Entry> entries;
+        };
+
+        /**
+         * Reader counter, on its own cache line so readers and writers do not share one.
+         */
+        struct alignas(64) Counter {
+            std::atomic<int> count{0};
+        };
+
+        /**
+         * Binary search over the sorted entries.
+         *
+         * @return the index of the key, or -(insertion point + 1)
+         */
+        static int search(const std::vector<Entry> &entries, K key) {
+            int low = 0;
+            int high = static_cast<int>(entries.size()) - 1;
+            while (low <= high) {
+                const int mid = (low + high) >> 1;
+                if (entries[mid].key < key)
+                    low = mid + 1;
+                else if (key < entries[mid].key)
+                    high = mid - 1;
+                else
+                    return mid;
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * Swaps in the new table and frees the old one once no reader can still see it.
+         */
+        void publish(const Table *next) {
+            const Table *old = table_.exchange(next);
+            for (int flip = 0; flip < 2; flip++) {
+                const unsigned drained = epoch_.fetch_add(1) & 1;
+                while (readers_[drained].count.load() != 0)
+                    std::this_thread::yield();
+            }
+            delete old;
+        }
+
+        std::atomic<const Table *> table_{nullptr};
+        std::atomic<unsigned> epoch_{0};
+        mutable Counter readers_[2];
+        mutable std::mutex writeLock_;
+    };
+}
+
+#endif //NFX_CORE_WIN64_READ_MOSTLY_MAP_H
@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Per-window cache of the metrics the hit test needs on every WM_NCHITTEST: DPI, resize
+  * border thickness and window style. Values are read from a MetricsProvider once and kept
+  * until the window procedure invalidates them (WM_DPICHANGED, WM_SETTINGCHANGE,
+  * WM_STYLECHANGED).
+  * Platform neutral on purpose: no windows.h, so a fake provider can check the invalidation
+  * rules on any OS.
+  */
+#pragma once
+
+#ifndef NFX_CORE_WIN64_WINDOW_METRICS_H
+#define NFX_CORE_WIN64_WINDOW_METRICS_H
+
+#include <cstdint>
+
+namespace nfx {
+
+    /**
+     * Reference DPI, 1 DIP == 1 px.
+     */
+    constexpr uint32_t DEFAULT_DPI = 96;
+
+    /**
+     * Window style bit of a resizable frame, same value as WS_THICKFRAME.
+     */
+    constexpr uint32_t STYLE_THICKFRAME = 0x00040000;
+
+    /**
+     * Source of the raw metrics, implemented with Win32 calls in production.
+     */
+    class MetricsProvider {
+    public:
+        virtual ~MetricsProvider() = default;
+
+        /** Current DPI of the window. */
+        virtual uint32_t dpi() const = 0;
+
+        /** Horizontal resize border thickness (padded border + size frame) at the given DPI, in px. */
+        virtual int resizeBorderX(uint32_t dpi) const = 0;
+
+        /** Vertical resize border thickness (padded border + size frame) at the given DPI, in px. */
+        virtual int resizeBorderY(uint32_t dpi) const = 0;
+
+        /** Current window style (GWL_STYLE). */
+        virtual uint32_t style() const = 0;
+    };
+
+    /**
+     * Converts physical pixels to DIP, rounding to nearest with halves away from zero like MulDiv.
+     */
+    inline int pxToDip(int px, uint32_t dpi) {
+        if (dpi == 0) return px;
+        const int64_t n = static_cast<int64_t>(px) * DEFAULT_DPI;
+        const int64_t half = dpi / 2;
+        return static_cast<int>((n >= 0 ? n + half : n - half) / static_cast<int64_t>(dpi));
+    }
+
+    /**
+     * Converts DIP to physical pixels, rounding to nearest with halves away from zero like MulDiv.
+     */
+    inline int dipToPx(int dip, uint32_t dpi) {
+        const int64_t n = static_cast<int64_t>(dip) * dpi;
+        const int64_t half = DEFAULT_DPI / 2;
+        return static_cast<int>((n >= 0 ? n + half : n - half) / static_cast<int64_t>(DEFAULT_DPI));
+    }
+
+    /**
+     * Lazily filled cache over a MetricsProvider.
+     */
+    class WindowMetrics {
+    public:
+        /**
+         * Creates an empty cache, the provider must outlive it.
+         */
+        explicit WindowMetrics(const MetricsProvider *provider) : provider_(provider) {}
+
+        /**
+         * Drops the DPI-dependent values (WM_DPICHANGED, WM_SETTINGCHANGE).
+         */
+        void invalidateDpi() { dpiValid_ = false; }
+
+        /**
+         * Drops the cached style (WM_STYLECHANGED).
+         */
+        void invalidateStyle() { styleValid_ = false; }
+
+        /**
+         * Drops everything.
+         */
+        void invalidate() {
+            invalidateDpi();
+            invalidateStyle();
+        }
+
+        /** Cached DPI of the window. */
+        uint32_t dpi() {
+            refreshDpi();
+            return dpi_;
+        }
+
+        /** Cached horizontal resize border thickness, in px. */
+        int resizeBorderX() {
+            refreshDpi();
+            return borderX_;
+        }
+
+        /** Cached vertical resize border thickness, in px. */
+        int resizeBorderY() {
+            refreshDpi();
+            return borderY_;
+        }
+
+        /** Cached window style. */
+        uint32_t style() {
+            if (!styleValid_) {
+                style_ = provider_->style();
+                styleValid_ = true;
+            }
+            return style_;
+        }
+
+        /** Whether the window has a resizable frame. */
+        bool isResizable() { return (style() & STYLE_THICKFRAME) != 0; }
+
+        /** Converts px to DIP at the cached DPI. */
+        int toDip(int px) { return pxToDip(px, dpi()); }
+
+        /** Converts DIP to px at the cached DPI. */
+        int toPx(int dip) { return dipToPx(dip, dpi()); }
+
+    private:
+        /**
+         * Re-reads the DPI and everything derived from it when invalidated.
+         */
+        void refreshDpi() {
+            if (dpiValid_) return;
+            dpi_ = provider_->dpi();
+            if (dpi_ == 0) dpi_ = DEFAULT_DPI;
+            borderX_ = provider_->resizeBorderX(dpi_);
+            borderY_ = provider_->resizeBorderY(dpi_);
+            dpiValid_ = true;
+        }
+
+        const MetricsProvider *provider_;
+        bool dpiValid_ = false;
+        bool styleValid_ = false;
+        uint32_t dpi_ = DEFAULT_DPI;
+        int borderX_ = 0;
+        int borderY_ = 0;
+        uint32_t style_ = 0;
+    };
+}
+
+#endif //NFX_CORE_WIN64_WINDOW_METRICS_H
@@ -13,6 +13,14 @@
 /**
   * @author XDSSWAR
   * Created on 08/13/2025
+  *
+  * JNI environment of the current thread and the upcall helpers built on it.
+  * Platform neutral on purpose: only jni.h and the standard library, so the upcall cost can be
+  * measured against a real JVM on any OS.
+  *
+  * The environment is looked up once per thread and cached thread-locally. A thread the JVM
+  * does not know is attached once, as a daemon so it never holds up VM shutdown, and detached
+  * when it exits, instead of being attached and detached around every upcall.
   */
 #pragma once
 
@@ -20,32 +28,102 @@
 #ifndef NFX_CORE_WIN64_ATTACH_H
 #define NFX_CORE_WIN64_ATTACH_H
 
+#include <atomic>
 #include <jni.h>
 
-class JniAttachGuard {
-public:
-    explicit JniAttachGuard(JavaVM* jvm) : jvm_(jvm) {
-        JNIEnv* e = nullptr;
-        const jint s = jvm_->GetEnv(reinterpret_cast<void**>(&e), JNI_VERSION_1_8);
-        if (s == JNI_OK) {
-            env_ = e;               // already attached by JVM; do NOT detach later
-        } else if (s == JNI_EDETACHED) {
-            if (jvm_->AttachCurrentThread(reinterpret_cast<void**>(&e), nullptr) == JNI_OK) {
+namespace nfx {
+
+    /**
+     * The VM the library was loaded into, set by JNI_OnLoad and cleared by JNI_OnUnload.
+     */
+    inline std::atomic<JavaVM *> jniVm{nullptr};
+
+    /**
+     * Per-thread JNI environment, attached on first use when needed.
+     */
+    class JniThreadEnv {
+    public:
+        JniThreadEnv() = default;
+
+        JniThreadEnv(const JniThreadEnv &) = delete;
+
+        JniThreadEnv &operator=(const JniThreadEnv &) = delete;
+
+        /**
+         * Detaches the thread at exit, only if it was attached here.
+         */
+        ~JniThreadEnv() {
+            JavaVM *vm = jniVm.load();
+            if (attachedHere_ && vm != nullptr)
+                vm->DetachCurrentThread();
+        }
+
+        /**
+         * Gets the environment of the calling thread, attaching it on first use.
+         *
+         * @return the environment, or nullptr if the library is not loaded or the attach failed
+         */
+        JNIEnv *get() {
+            if (env_ != nullptr)
+                return env_;
+            JavaVM *vm = jniVm.load();
+            if (vm == nullptr)
+                return nullptr;
+            JNIEnv *e = nullptr;
+            const jint s = vm->GetEnv(reinterpret_cast<void **>(&e), JNI_VERSION_1_8);
+            if (s == JNI_OK) {
+                env_ = e;               // a Java thread, the JVM owns the attachment
+            } else if (s == JNI_EDETACHED
+                       && vm->AttachCurrentThreadAsDaemon(reinterpret_cast<void **>(&e), nullptr) == JNI_OK) {
                 env_ = e;
-                attached_here_ = true; // we'll detach in dtor
-            }
-        } // else JNI_EVERSION -> env_ stays null
+                attachedHere_ = true;   // detached in the destructor, at thread exit
+            } // else JNI_EVERSION -> env_ stays null, retried next time
+            return env_;
+        }
+
+    private:
+        JNIEnv *env_{};
+        bool attachedHere_{false};
+    };
+
+    /**
+     * Gets the JNI environment of the calling thread.
+     *
+     * @return the environment, or nullptr if none is available
+     */
+    inline JNIEnv *jniEnv() {
+        thread_local JniThreadEnv current;
+        return current.get();
     }
 
-    ~JniAttachGuard() {
-        if (attached_here_) jvm_->DetachCurrentThread();
+    /**
+     * Calls an int method, exceptions are cleared and replaced by the fallback.
+     */
+    template<typename... Args>
+    inline jint jniCallInt(jobject obj, jmethodID mid, jint fallback, Args... args) {
+        JNIEnv *env = jniEnv();
+        if (env == nullptr)
+            return fallback;
+        const jint result = env->CallIntMethod(obj, mid, args...);
+        if (env->ExceptionCheck()) {
+            env->ExceptionClear();
+            return fallback;
+        }
+        return result;
     }
 
-    [[nodiscard]] JNIEnv* env() const { return env_; }
+    /**
+     * Calls a void method, exceptions are cleared.
+     */
+    template<typename... Args>
+    inline void jniCallVoid(jobject obj, jmethodID mid, Args... args) {
+        JNIEnv *env = jniEnv();
+        if (env == nullptr)
+            return;
+        env->CallVoidMethod(obj, mid, args...);
+        if (env->ExceptionCheck())
+            env->ExceptionClear();
+    }
+}
 
-private:
-    JavaVM* jvm_{};
-    JNIEnv* env_{};
-    bool attached_here_{false};
-};
-#endif //NFX_CORE_WIN64_ATTACH_H
\ No newline at end of file
+#endif //NFX_CORE_WIN64_ATTACH_H
@@ -14,20 +14,55 @@ HWND to_hwnd(const jlong hwnd) {
     return reinterpret_cast<HWND>(hwnd);
 }
 
+/**
+ * Method ID of javafx.stage.Window#getPeer.
+ */
+static jmethodID getPeerMethod = nullptr;
+
+/**
+ * Method ID of com.sun.javafx.tk.TKStage#getRawHandle.
+ */
+static jmethodID getRawHandleMethod = nullptr;
+
+/**
+ * Resolves the JavaFX methods used to reach the native handle of a stage, once.
+ * Called from JNI_OnLoad, and again on first use if the classes were not visible then.
+ *
+ * @return true once both methods are resolved
+ */
+bool init_javafx_stage_methods(JNIEnv *env) {
+    if (getPeerMethod != nullptr && getRawHandleMethod != nullptr) {
+        return true;
+    }
+    jclass stageClass = env->FindClass("javafx/stage/Window");
+    jclass tkStageClass = stageClass != nullptr ? env->FindClass("com/sun/javafx/tk/TKStage") : nullptr;
+    if (tkStageClass != nullptr) {
+        // both classes stay loaded with JavaFX, so the IDs stay valid
+        getRawHandleMethod = env->GetMethodID(tkStageClass, "getRawHandle", "()J");
+        getPeerMethod = env->GetMethodID(stageClass, "getPeer", "()Lcom/sun/javafx/tk/TKStage;");
+    }
+    if (env->ExceptionCheck()) {
+        env->ExceptionClear();
+    }
+    if (stageClass != nullptr) env->DeleteLocalRef(stageClass);
+    if (tkStageClass != nullptr) env->DeleteLocalRef(tkStageClass);
+    return getPeerMethod != nullptr && getRawHandleMethod != nullptr;
+}
+
 /**
  * Obtain the raw handle from a javafx Stage
- * @return
+ * @return the handle, or 0 if the window has no peer yet
  */
 jlong get_hwnd_from_javafx_stage(JNIEnv *env, jobject window) {
-    if (window == nullptr) {
+    if (window == nullptr || !init_javafx_stage_methods(env)) {
         return 0L;
     }
-    jclass stageClass = env->FindClass("javafx/stage/Window");
-    jmethodID getPeerMethod = env->GetMethodID(stageClass, "getPeer", "()Lcom/sun/javafx/tk/TKStage;");
-    jclass tkStageClass = env->FindClass("com/sun/javafx/tk/TKStage");
-    jmethodID getRawHandleMethod = env->GetMethodID(tkStageClass, "getRawHandle", "()J");
     jobject tkStageObject = env->CallObjectMethod(window, getPeerMethod);
+    if (tkStageObject == nullptr) {
+        return 0L;
+    }
     jlong hwnd = env->CallLongMethod(tkStageObject, getRawHandleMethod);
+    env->DeleteLocalRef(tkStageObject);
     return hwnd;
 }
 
@@ -62,3 +97,27 @@ void set_title_bar_color(HWND hWnd, COLORREF titleBarColor) {
 void set_text_color(HWND hWnd, COLORREF textColor) {
     DwmSetWindowAttribute(hWnd, DWMWA_TEXT_COLOR, &textColor, sizeof(textColor));
 }
+
+/**
+ * Applies the dirty attributes of a window specified by its handle, one DwmSetWindowAttribute each.
+ *
+ * @param hWnd       The handle of the window.
+ * @param attributes The attributes, only the ones flagged dirty are applied.
+ * @return The bits of the attributes applied successfully.
+ */
+uint32_t apply_dwm_attributes(HWND hWnd, const DwmAttributes &attributes) {
+    uint32_t done = 0;
+    if ((attributes.dirty & DWM_ATTR_TITLE_BAR) != 0
+        && DwmSetWindowAttribute(hWnd, DWMWA_CAPTION_COLOR, &attributes.titleBar, sizeof(COLORREF)) == S_OK)
+        done |= DWM_ATTR_TITLE_BAR;
+    if ((attributes.dirty & DWM_ATTR_CAPTION) != 0
+        && DwmSetWindowAttribute(hWnd, DWMWA_TEXT_COLOR, &attributes.caption, sizeof(COLORREF)) == S_OK)
+        done |= DWM_ATTR_CAPTION;
+    if ((attributes.dirty & DWM_ATTR_CORNER) != 0
+        && DwmSetWindowAttribute(hWnd, DWMWA_WINDOW_CORNER_PREFERENCE, &attributes.corner, sizeof(DWORD)) == S_OK)
+        done |= DWM_ATTR_CORNER;
+    if ((attributes.dirty & DWM_ATTR_BORDER) != 0
+        && DwmSetWindowAttribute(hWnd, DWMWA_BORDER_COLOR, &attributes.border, sizeof(COLORREF)) == S_OK)
+        done |= DWM_ATTR_BORDER;
+    return done;
+}
@@ -8,6 +8,7 @@
 #pragma once
 #include <windows.h>
 #include <jni.h>
+#include <cstdint>
 
 /**
  * Cast jlong to HWND
@@ -15,6 +16,12 @@
  */
 HWND to_hwnd(jlong);
 
+/**
+ * Resolve the JavaFX methods used by get_hwnd_from_javafx_stage, once
+ * @return true when resolved
+ */
+bool init_javafx_stage_methods(JNIEnv*);
+
 /**
  * Obtain the raw handle from a javafx Stage
  * @return
@@ -37,6 +44,29 @@ void set_title_bar_color(HWND , COLORREF);
  */
 void set_text_color(HWND , COLORREF);
 
+/**
+ * DWM attributes applied together, bit i of dirty flags the i-th value.
+ * Same bits as the ATTR_* slots of xss.it.nfx.NfxUtil.
+ */
+struct DwmAttributes {
+    uint32_t dirty;
+    COLORREF titleBar;
+    COLORREF caption;
+    DWORD corner;
+    COLORREF border;
+};
+
+constexpr uint32_t DWM_ATTR_TITLE_BAR = 1u << 0;
+constexpr uint32_t DWM_ATTR_CAPTION   = 1u << 1;
+constexpr uint32_t DWM_ATTR_CORNER    = 1u << 2;
+constexpr uint32_t DWM_ATTR_BORDER    = 1u << 3;
+
+/**
+ * Applies the dirty attributes of a window specified by its handle.
+ * @return the bits of the attributes applied successfully
+ */
+uint32_t apply_dwm_attributes(HWND, const DwmAttributes&);
+
 
 
 #endif //UTILS_H
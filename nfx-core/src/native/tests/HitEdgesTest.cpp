@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Checks HitEdges.h: the eight resize zones with their corner reach, disabled edges, and the
+  * order WM_NCHITTEST applies them in, side and bottom frame first, then the spots, then the
+  * top zone, so a spot in the top strip keeps its own code.
+  */
+
+#include <cstdio>
+
+#include "HitEdges.h"
+#include "NfxTest.h"
+
+namespace {
+    constexpr int WIDTH = 200;
+    constexpr int HEIGHT = 100;
+    constexpr int CORNER = 16;
+    constexpr nfx::ResizeBorders BORDERS{8, 8, 8, 8};
+
+    // HT codes of the spots, same values as Win32
+    constexpr int32_t HT_CLIENT = 1;
+    constexpr int32_t HT_CAPTION = 2;
+    constexpr int32_t HT_CLOSE = 20;
+    constexpr int32_t TITLE_BAR = 32;
+    // close button in the top-right corner of the title bar, [CLOSE_X, WIDTH) x [0, TITLE_BAR)
+    constexpr int CLOSE_X = WIDTH - 46;
+
+    int32_t edge(int x, int y, const nfx::ResizeBorders &borders = BORDERS) {
+        return nfx::hitTestResizeEdge(x, y, WIDTH, HEIGHT, borders, CORNER, CORNER);
+    }
+
+    /**
+     * What the hit table answers for the title bar with the close button: the spot, the
+     * caption, or the top edge on the resize border where no spot or the caption is.
+     */
+    int32_t table(int x, int y) {
+        const bool onTop = y < BORDERS.top;
+        if (y >= TITLE_BAR)
+            return onTop ? nfx::HT_TOP : HT_CLIENT;
+        if (x >= CLOSE_X)
+            return HT_CLOSE;
+        return onTop ? nfx::HT_TOP : HT_CAPTION;
+    }
+
+    /**
+     * The order of NfxWinProc::WmNcHitTest: frame, then the table, then the top corners.
+     */
+    int32_t resolve(int x, int y) {
+        const int32_t frame = nfx::hitTestFrameEdge(x, y, WIDTH, HEIGHT, BORDERS, CORNER, CORNER);
+        if (frame != nfx::HT_NOWHERE)
+            return frame;
+        return nfx::refineTopEdge(table(x, y), x, y, WIDTH, HEIGHT, BORDERS, CORNER, CORNER);
+    }
+
+    void resizeEdges() {
+        // the eight zones and the middle
+        NFX_CHECK_EQ(nfx::HT_TOPLEFT, edge(0, 0));
+        NFX_CHECK_EQ(nfx::HT_TOP, edge(100, 0));
+        NFX_CHECK_EQ(nfx::HT_TOPRIGHT, edge(WIDTH - 1, 0));
+        NFX_CHECK_EQ(nfx::HT_LEFT, edge(0, 50));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(100, 50));
+        NFX_CHECK_EQ(nfx::HT_RIGHT, edge(WIDTH - 1, 50));
+        NFX_CHECK_EQ(nfx::HT_BOTTOMLEFT, edge(0, HEIGHT - 1));
+        NFX_CHECK_EQ(nfx::HT_BOTTOM, edge(100, HEIGHT - 1));
+        NFX_CHECK_EQ(nfx::HT_BOTTOMRIGHT, edge(WIDTH - 1, HEIGHT - 1));
+
+        // zone boundaries: inside is < thickness from the edge
+        NFX_CHECK_EQ(nfx::HT_LEFT, edge(7, 50));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(8, 50));
+        NFX_CHECK_EQ(nfx::HT_RIGHT, edge(WIDTH - 8, 50));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(WIDTH - 9, 50));
+        NFX_CHECK_EQ(nfx::HT_TOP, edge(100, 7));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(100, 8));
+        NFX_CHECK_EQ(nfx::HT_BOTTOM, edge(100, HEIGHT - 8));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(100, HEIGHT - 9));
+
+        // corners reach CORNER pixels along the edges they join
+        NFX_CHECK_EQ(nfx::HT_TOPLEFT, edge(CORNER - 1, 0));
+        NFX_CHECK_EQ(nfx::HT_TOP, edge(CORNER, 0));
+        NFX_CHECK_EQ(nfx::HT_TOPLEFT, edge(0, CORNER - 1));
+        NFX_CHECK_EQ(nfx::HT_LEFT, edge(0, CORNER));
+        NFX_CHECK_EQ(nfx::HT_BOTTOMRIGHT, edge(WIDTH - CORNER, HEIGHT - 1));
+        NFX_CHECK_EQ(nfx::HT_BOTTOM, edge(WIDTH - CORNER - 1, HEIGHT - 1));
+        NFX_CHECK_EQ(nfx::HT_BOTTOMRIGHT, edge(WIDTH - 1, HEIGHT - CORNER));
+        NFX_CHECK_EQ(nfx::HT_RIGHT, edge(WIDTH - 1, HEIGHT - CORNER - 1));
+
+        // outside the window
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(-1, 50));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(WIDTH, 50));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(100, -1));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(100, HEIGHT));
+    }
+
+    void disabledEdges() {
+        // no top zone: the top corners fall back to the side edges, the top strip is nowhere
+        const nfx::ResizeBorders noTop{8, 0, 8, 8};
+        NFX_CHECK_EQ(nfx::HT_LEFT, edge(0, 0, noTop));
+        NFX_CHECK_EQ(nfx::HT_RIGHT, edge(WIDTH - 1, 0, noTop));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(100, 0, noTop));
+        NFX_CHECK_EQ(nfx::HT_BOTTOMLEFT, edge(0, HEIGHT - 1, noTop));
+
+        // no left zone: the left corners are plain top and bottom
+        const nfx::ResizeBorders noLeft{0, 8, 8, 8};
+        NFX_CHECK_EQ(nfx::HT_TOP, edge(0, 0, noLeft));
+        NFX_CHECK_EQ(nfx::HT_BOTTOM, edge(0, HEIGHT - 1, noLeft));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(0, 50, noLeft));
+        NFX_CHECK_EQ(nfx::HT_TOPRIGHT, edge(WIDTH - 1, 0, noLeft));
+
+        const nfx::ResizeBorders none{0, 0, 0, 0};
+        for (int y = 0; y < HEIGHT; y++)
+            for (int x = 0; x < WIDTH; x++)
+                NFX_CHECK_EQ(nfx::HT_NOWHERE, edge(x, y, none));
+    }
+
+    void frameEdge() {
+        // side and bottom zones, corners included
+        NFX_CHECK_EQ(nfx::HT_LEFT, nfx::hitTestFrameEdge(0, 50, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        NFX_CHECK_EQ(nfx::HT_TOPLEFT, nfx::hitTestFrameEdge(0, 0, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        NFX_CHECK_EQ(nfx::HT_BOTTOM, nfx::hitTestFrameEdge(100, HEIGHT - 1, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        NFX_CHECK_EQ(nfx::HT_BOTTOMLEFT,
+                     nfx::hitTestFrameEdge(CORNER - 1, HEIGHT - 1, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        // the top zone is left to the table
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, nfx::hitTestFrameEdge(100, 0, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, nfx::hitTestFrameEdge(CORNER - 1, 0, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        NFX_CHECK_EQ(nfx::HT_NOWHERE, nfx::hitTestFrameEdge(100, 50, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+    }
+
+    void topEdgeRefinement() {
+        // spots and the caption keep their code
+        NFX_CHECK_EQ(HT_CLOSE, nfx::refineTopEdge(HT_CLOSE, WIDTH - 10, 0, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        NFX_CHECK_EQ(HT_CAPTION, nfx::refineTopEdge(HT_CAPTION, 10, 0, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        // the top edge becomes a corner near the sides only
+        NFX_CHECK_EQ(nfx::HT_TOPLEFT, nfx::refineTopEdge(nfx::HT_TOP, 10, 0, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        NFX_CHECK_EQ(nfx::HT_TOPRIGHT,
+                     nfx::refineTopEdge(nfx::HT_TOP, WIDTH - 10, 0, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        NFX_CHECK_EQ(nfx::HT_TOP, nfx::refineTopEdge(nfx::HT_TOP, 100, 0, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+        // never a side or bottom code
+        NFX_CHECK_EQ(nfx::HT_TOP, nfx::refineTopEdge(nfx::HT_TOP, 100, 50, WIDTH, HEIGHT, BORDERS, CORNER, CORNER));
+    }
+
+    void spotsWinOverTopZone() {
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                const int32_t result = resolve(x, y);
+                const bool onFrame = x < BORDERS.left || x >= WIDTH - BORDERS.right || y >= HEIGHT - BORDERS.bottom;
+                if (onFrame) {
+                    NFX_CHECK_EQ(edge(x, y), result);
+                } else if (y < TITLE_BAR && x >= CLOSE_X) {
+                    NFX_CHECK_EQ(HT_CLOSE, result); // the close button, top strip included
+                } else if (y < BORDERS.top) {
+                    NFX_CHECK_EQ(edge(x, y), result); // top, or a top corner within CORNER
+                } else {
+                    NFX_CHECK_EQ(y < TITLE_BAR ? HT_CAPTION : HT_CLIENT, result);
+                }
+            }
+        }
+        // the review case: top strip over the close button, and the corner left of the frame
+        NFX_CHECK_EQ(HT_CLOSE, resolve(WIDTH - 12, 0));
+        NFX_CHECK_EQ(nfx::HT_TOPRIGHT, resolve(WIDTH - 1, 0));
+        NFX_CHECK_EQ(nfx::HT_TOPLEFT, resolve(CORNER - 1, 0));
+    }
+}
+
+int main() {
+    resizeEdges();
+    disabledEdges();
+    frameEdge();
+    topEdgeRefinement();
+    spotsWinOverTopZone();
+    return nfx::test::failures();
+}
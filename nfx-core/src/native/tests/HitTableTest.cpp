@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Checks HitTable.h against the Java hit test. The fixture (fixtures/hit-table.bin) holds
+  * tables written the way HitTestTable.publish writes them and, for each probe, what
+  * HitSpotIndex.find and AbstractNfxUndecoratedWindow.hitTestCode answered; the Java test
+  * HitTableFixtureTest documents the format and keeps the file current. A table nested far
+  * deeper than any fixture checks that the lookup does not recurse.
+  */
+
+#include <cstdint>
+#include <cstdio>
+#include <cstring>
+#include <fstream>
+#include <iterator>
+#include <limits>
+#include <vector>
+
+#include "HitTable.h"
+#include "NfxTest.h"
+
+namespace {
+    constexpr int32_t MAGIC = 0x4858464E;
+    constexpr int32_t VERSION = 1;
+
+    /**
+     * Reads little-endian values from the fixture, failing the test past its end.
+     */
+    struct Reader {
+        const std::vector<unsigned char> &bytes;
+        size_t offset = 0;
+
+        bool has(size_t n) const {
+            return offset + n <= bytes.size();
+        }
+
+        int32_t int32() {
+            uint32_t v = 0;
+            if (has(4)) {
+                for (int k = 3; k >= 0; k--)
+                    v = (v << 8) | bytes[offset + k];
+            }
+            offset += 4;
+            return static_cast<int32_t>(v);
+        }
+
+        uint8_t byte() {
+            const uint8_t v = has(1) ? bytes[offset] : 0;
+            offset += 1;
+            return v;
+        }
+    };
+
+    /**
+     * A chain of entries nested far deeper than a recursive lookup could go, each inset by an
+     * exactly representable step from its parent. The subtree bounds are only a prefilter and
+     * cover every entry's own inset, so lookups descend the whole chain; the inner half has no
+     * rectangle of its own, so they climb back out to the middle.
+     */
+    void deepNesting() {
+        constexpr int32_t depth = 200000;
+        std::vector<double> storage((nfx::HIT_TABLE_HEADER_BYTES + depth * nfx::HIT_TABLE_ENTRY_BYTES) / 8);
+        auto *table = reinterpret_cast<unsigned char *>(storage.data());
+        const int32_t generation = 2;
+        const double titleBarHeight = 1000;
+        std::memcpy(table, &generation, 4);
+        std::memcpy(table + 4, &depth, 4);
+        std::memcpy(table + 8, &titleBarHeight, 8);
+
+        const double nan = std::numeric_limits<double>::quiet_NaN();
+        for (int32_t i = 0; i < depth; i++) {
+            const double inset = i / 1024.0;
+            nfx::HitEntry e{};
+            e.minX = e.minY = i < depth / 2 ? inset : nan;
+            e.maxX = e.maxY = i < depth / 2 ? 1000 - inset : nan;
+            e.subMinX = e.subMinY = inset;
+            e.subMaxX = e.subMaxY = 1000 - inset;
+            e.code = nfx::HT_CLIENT;
+            e.end = depth;
+            std::memcpy(table + nfx::HIT_TABLE_HEADER_BYTES + i * nfx::HIT_TABLE_ENTRY_BYTES, &e, sizeof(e));
+        }
+
+        int32_t code = 0, flags = 0;
+        NFX_CHECK_EQ(depth / 2 - 1, nfx::hitTableFind(table, 500, 500, &code, &flags));
+        NFX_CHECK_EQ(1234, nfx::hitTableFind(table, (1234 + 0.5) / 1024, 500, &code, &flags));
+        NFX_CHECK_EQ(nfx::HT_CLIENT, code);
+    }
+
+    bool littleEndian() {
+        const uint16_t one = 1;
+        unsigned char first;
+        std::memcpy(&first, &one, 1);
+        return first == 1;
+    }
+}
+
+int main(int argc, char **argv) {
+    if (argc < 2) {
+        std::fprintf(stderr, "usage: HitTableTest <fixtures/hit-table.bin>\n");
+        return 2;
+    }
+    if (!littleEndian()) {
+        std::printf("skipped: the fixture is little-endian, like every Windows target\n");
+        return 0;
+    }
+    std::ifstream in(argv[1], std::ios::binary);
+    const std::vector<unsigned char> bytes((std::istreambuf_iterator<char>(in)), std::istreambuf_iterator<char>());
+    NFX_CHECK(!bytes.empty());
+
+    Reader reader{bytes};
+    NFX_CHECK_EQ(MAGIC, reader.int32());
+    NFX_CHECK_EQ(VERSION, reader.int32());
+    const int32_t tables = reader.int32();
+    NFX_CHECK(tables > 0);
+
+    int probes = 0;
+    for (int32_t t = 0; t < tables && reader.has(4); t++) {
+        const int32_t size = reader.int32();
+        if (!reader.has(size)) {
+            NFX_CHECK(reader.has(size));
+            break;
+        }
+        // own copy, 8-byte aligned like the direct ByteBuffer
+        std::vector<double> storage((size + 7) / 8);
+        auto *table = reinterpret_cast<unsigned char *>(storage.data());
+        std::memcpy(table, bytes.data() + reader.offset, size);
+        reader.offset += size;
+
+        const int32_t count = reader.int32();
+        for (int32_t p = 0; p < count && reader.has(21); p++, probes++) {
+            const int32_t x = reader.int32();
+            const int32_t y = reader.int32();
+            const int32_t index = reader.int32();
+            const int32_t code = reader.int32();
+            const int32_t borderCode = reader.int32();
+            const bool precise = reader.byte() != 0;
+
+            int32_t spotCode = 0, flags = 0;
+            NFX_CHECK_EQ(index, nfx::hitTableFind(table, x, y, &spotCode, &flags));
+
+            double titleBarHeight;
+            std::memcpy(&titleBarHeight, table + 8, sizeof(titleBarHeight));
+            const int32_t expectedIndex = y < titleBarHeight ? index : -1;
+
+            const nfx::HitResult r = nfx::hitTableResolve(table, x, y, false);
+            NFX_CHECK_EQ(code, r.code);
+            NFX_CHECK_EQ(expectedIndex, r.index);
+            NFX_CHECK_EQ(2, r.generation);
+            NFX_CHECK_EQ(precise, r.precise);
+
+            const nfx::HitResult b = nfx::hitTableResolve(table, x, y, true);
+            NFX_CHECK_EQ(borderCode, b.code);
+            NFX_CHECK_EQ(expectedIndex, b.index);
+            NFX_CHECK_EQ(precise, b.precise);
+        }
+    }
+    NFX_CHECK_EQ(bytes.size(), reader.offset);
+
+    deepNesting();
+
+    std::printf("tables %d, probes %d\n", tables, probes);
+    return nfx::test::failures();
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Measures the upcall cost of attach.h against a real JVM started through the invocation API:
+  * a native thread calling through the cached JniThreadEnv, and the same calls with an attach
+  * and detach around each one, as before the cache. Also checks that a thread attached by
+  * nfx::jniEnv() is detached again when it exits.
+  *
+  * Usage: JniUpcallBenchmark [upcalls]
+  */
+
+#include <chrono>
+#include <cstdio>
+#include <cstdlib>
+#include <thread>
+
+#include "attach.h"
+#include "NfxTest.h"
+
+namespace {
+    /**
+     * Target of the upcalls: Integer.intValue() on a boxed 42, about the cheapest Java method.
+     */
+    jobject boxed = nullptr;
+    jmethodID intValue = nullptr;
+
+    /**
+     * Number of threads the VM knows about, from Thread.getAllStackTraces().
+     */
+    int liveThreads(JNIEnv *env) {
+        jclass thread = env->FindClass("java/lang/Thread");
+        jmethodID all = env->GetStaticMethodID(thread, "getAllStackTraces", "()Ljava/util/Map;");
+        jobject map = env->CallStaticObjectMethod(thread, all);
+        jclass mapClass = env->FindClass("java/util/Map");
+        const int size = env->CallIntMethod(map, env->GetMethodID(mapClass, "size", "()I"));
+        env->DeleteLocalRef(map);
+        env->DeleteLocalRef(mapClass);
+        env->DeleteLocalRef(thread);
+        return size;
+    }
+
+    /**
+     * Runs the upcalls on a new native thread and returns the nanoseconds per upcall.
+     */
+    template<typename Upcall>
+    double timeOnNativeThread(long upcalls, Upcall upcall) {
+        double perCall = 0;
+        std::thread thread([&] {
+            upcall(); // first use, attaches in the cached mode
+            const auto start = std::chrono::steady_clock::now();
+            long sum = 0;
+            for (long i = 0; i < upcalls; i++)
+                sum += upcall();
+            const auto elapsed = std::chrono::steady_clock::now() - start;
+            NFX_CHECK_EQ(42L * upcalls, sum);
+            perCall = static_cast<double>(std::chrono::duration_cast<std::chrono::nanoseconds>(elapsed).count())
+                      / static_cast<double>(upcalls);
+        });
+        thread.join();
+        return perCall;
+    }
+
+    /**
+     * The upcall through the cached environment of attach.h.
+     */
+    jint cachedUpcall() {
+        return nfx::jniCallInt(boxed, intValue, -1);
+    }
+
+    /**
+     * The upcall with an attach and a detach around it, the cost the cache removes.
+     */
+    jint attachPerCallUpcall() {
+        JavaVM *vm = nfx::jniVm.load();
+        JNIEnv *env = nullptr;
+        if (vm->AttachCurrentThreadAsDaemon(reinterpret_cast<void **>(&env), nullptr) != JNI_OK)
+            return -1;
+        const jint result = env->CallIntMethod(boxed, intValue);
+        vm->DetachCurrentThread();
+        return result;
+    }
+}
+
+int main(int argc, char **argv) {
+    const long upcalls = argc > 1 ? std::atol(argv[1]) : 20000;
+
+    JavaVMOption options[] = {{const_cast<char *>("-Xrs"), nullptr}};
+    JavaVMInitArgs args{};
+    args.version = JNI_VERSION_1_8;
+    args.nOptions = 1;
+    args.options = options;
+    JavaVM *vm = nullptr;
+    JNIEnv *env = nullptr;
+    if (JNI_CreateJavaVM(&vm, reinterpret_cast<void **>(&env), &args) != JNI_OK) {
+        std::fprintf(stderr, "cannot create the JVM\n");
+        return 1;
+    }
+    nfx::jniVm.store(vm); // what JNI_OnLoad does
+
+    jclass integer = env->FindClass("java/lang/Integer");
+    jobject local = env->CallStaticObjectMethod(integer,
+            env->GetStaticMethodID(integer, "valueOf", "(I)Ljava/lang/Integer;"), 42);
+    boxed = env->NewGlobalRef(local);
+    intValue = env->GetMethodID(integer, "intValue", "()I");
+    env->DeleteLocalRef(local);
+    env->DeleteLocalRef(integer);
+
+    // on a Java thread the environment is the JVM's own, nothing to attach
+    NFX_CHECK(nfx::jniEnv() == env);
+    NFX_CHECK_EQ(42, cachedUpcall());
+
+    const int before = liveThreads(env);
+    const double attachEach = timeOnNativeThread(upcalls, attachPerCallUpcall);
+    const double cached = timeOnNativeThread(upcalls, cachedUpcall);
+    // the cached thread was attached once and detached by the thread_local at exit
+    NFX_CHECK_EQ(before, liveThreads(env));
+
+    std::printf("upcalls per mode:         %ld\n", upcalls);
+    std::printf("attach/detach per upcall: %10.1f ns\n", attachEach);
+    std::printf("cached JniThreadEnv:      %10.1f ns\n", cached);
+    std::printf("speedup:                  %10.1fx\n", attachEach / cached);
+    NFX_CHECK(cached < attachEach);
+
+    env->DeleteGlobalRef(boxed);
+    return nfx::test::failures();
+}
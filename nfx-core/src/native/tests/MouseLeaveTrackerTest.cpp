@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Feeds MouseLeaveTracker.h synthetic message sequences: scripted moves between the client
+  * area, the title bar and the outside, with the leave before or after the move into the other
+  * area, then a random walk against a model of TrackMouseEvent that checks exactly one leave is
+  * reported per exit from the window.
+  */
+
+#include <cstdio>
+#include <random>
+#include <vector>
+
+#include "MouseLeaveTracker.h"
+#include "NfxTest.h"
+
+namespace {
+    constexpr bool CLIENT = false;
+    constexpr bool NON_CLIENT = true;
+
+    /**
+     * Probe with a fixed answer that counts its calls.
+     */
+    struct Probe {
+        bool over;
+        int *calls;
+
+        bool operator()() const {
+            (*calls)++;
+            return over;
+        }
+    };
+
+    void moveArmsOnce() {
+        nfx::MouseLeaveTracker tracker;
+        NFX_CHECK(!tracker.isInside());
+        NFX_CHECK(tracker.onMouseMove(CLIENT));
+        for (int i = 0; i < 10; i++)
+            NFX_CHECK(!tracker.onMouseMove(CLIENT));
+        NFX_CHECK(tracker.isInside());
+        // the other area is tracked separately
+        NFX_CHECK(tracker.onMouseMove(NON_CLIENT));
+        NFX_CHECK(!tracker.onMouseMove(NON_CLIENT));
+    }
+
+    void leaveWindow() {
+        int calls = 0;
+        nfx::MouseLeaveTracker tracker;
+        tracker.onMouseMove(CLIENT);
+        NFX_CHECK(tracker.onMouseLeave(CLIENT, Probe{false, &calls}));
+        NFX_CHECK(!tracker.isInside());
+        NFX_CHECK_EQ(1, calls);
+        // a late duplicate is not a second leave, and needs no probe
+        NFX_CHECK(!tracker.onMouseLeave(CLIENT, Probe{false, &calls}));
+        NFX_CHECK_EQ(1, calls);
+        // entering again re-arms
+        NFX_CHECK(tracker.onMouseMove(CLIENT));
+    }
+
+    void clientToTitleBarLeaveFirst() {
+        int calls = 0;
+        nfx::MouseLeaveTracker tracker;
+        tracker.onMouseMove(CLIENT);
+        // WM_MOUSELEAVE arrives before the WM_NCMOUSEMOVE, the cursor already is on the title bar
+        NFX_CHECK(!tracker.onMouseLeave(CLIENT, Probe{true, &calls}));
+        NFX_CHECK_EQ(1, calls);
+        NFX_CHECK(tracker.isInside());
+        NFX_CHECK(tracker.onMouseMove(NON_CLIENT));
+        NFX_CHECK(tracker.onMouseLeave(NON_CLIENT, Probe{false, &calls}));
+        NFX_CHECK(!tracker.isInside());
+    }
+
+    void titleBarToClientMoveFirst() {
+        int calls = 0;
+        nfx::MouseLeaveTracker tracker;
+        tracker.onMouseMove(NON_CLIENT);
+        NFX_CHECK(tracker.onMouseMove(CLIENT));
+        // the client area is tracked, so the leave is a move within the window, no probe
+        NFX_CHECK(!tracker.onMouseLeave(NON_CLIENT, Probe{false, &calls}));
+        NFX_CHECK_EQ(0, calls);
+        NFX_CHECK(tracker.isInside());
+        NFX_CHECK(tracker.onMouseLeave(CLIENT, Probe{false, &calls}));
+        NFX_CHECK_EQ(1, calls);
+    }
+
+    void resetForgets() {
+        int calls = 0;
+        nfx::MouseLeaveTracker tracker;
+        tracker.onMouseMove(CLIENT);
+        tracker.onMouseMove(NON_CLIENT);
+        tracker.reset();
+        NFX_CHECK(!tracker.isInside());
+        // a leave for tracking armed before the reset is ignored
+        NFX_CHECK(!tracker.onMouseLeave(CLIENT, Probe{false, &calls}));
+        NFX_CHECK_EQ(0, calls);
+        NFX_CHECK(tracker.onMouseMove(NON_CLIENT));
+    }
+
+    /**
+     * Where the cursor is.
+     */
+    enum class Area { OUTSIDE, CLIENT, NON_CLIENT };
+
+    /**
+     * A queued WM_(NC)MOUSEMOVE or WM_(NC)MOUSELEAVE.
+     */
+    struct Message {
+        bool leave;
+        bool nonClient;
+    };
+
+    /**
+     * Random walk over the three areas. Like TrackMouseEvent, the system posts a leave for a
+     * tracked area once the cursor is off it, and a move for the area the cursor is over; the
+     * two are delivered in either order before the cursor moves on.
+     */
+    void randomWalk() {
+        std::mt19937 random(20261017);
+        nfx::MouseLeaveTracker tracker;
+        bool tracked[2] = {false, false};
+        Area cursor = Area::OUTSIDE;
+        std::vector<Message> queue;
+        int exits = 0;
+        int leaves = 0;
+
+        auto deliver = [&](const Message &message) {
+            if (message.leave) {
+                int calls = 0;
+                if (tracker.onMouseLeave(message.nonClient, Probe{cursor != Area::OUTSIDE, &calls}))
+                    leaves++;
+            } else if (tracker.onMouseMove(message.nonClient)) {
+                tracked[message.nonClient] = true;
+            }
+        };
+        auto drain = [&]() {
+            while (!queue.empty()) {
+                const size_t i = random() % queue.size();
+                const Message message = queue[i];
+                queue.erase(queue.begin() + static_cast<long>(i));
+                deliver(message);
+            }
+        };
+
+        for (int step = 0; step < 200000; step++) {
+            const Area next = static_cast<Area>(random() % 3);
+            if (cursor != Area::OUTSIDE && next == Area::OUTSIDE)
+                exits++;
+            for (int area = 0; area < 2; area++) {
+                const Area own = area ? Area::NON_CLIENT : Area::CLIENT;
+                if (tracked[area] && next != own) {
+                    tracked[area] = false;
+                    queue.push_back({true, area == 1});
+                }
+            }
+            cursor = next;
+            if (cursor != Area::OUTSIDE)
+                queue.push_back({false, cursor == Area::NON_CLIENT});
+            drain();
+        }
+        if (cursor != Area::OUTSIDE) {
+            exits++;
+            cursor = Area::OUTSIDE;
+            for (int area = 0; area < 2; area++) {
+                if (tracked[area]) {
+                    tracked[area] = false;
+                    queue.push_back({true, area == 1});
+                }
+            }
+        }
+        drain();
+
+        NFX_CHECK(exits > 1000);
+        NFX_CHECK_EQ(exits, leaves);
+        NFX_CHECK(!tracker.isInside());
+    }
+}
+
+int main() {
+    moveArmsOnce();
+    leaveWindow();
+    clientToTitleBarLeaveFirst();
+    titleBarToClientMoveFirst();
+    resetForgets();
+    randomWalk();
+    return nfx::test::failures();
+}
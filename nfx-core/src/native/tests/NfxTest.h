@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Minimal check macros for the portable native tests: a failed check prints where and why,
+  * the test keeps going, and main returns nfx::test::failures() so CTest sees the result.
+  */
+#pragma once
+
+#ifndef NFX_CORE_WIN64_NFX_TEST_H
+#define NFX_CORE_WIN64_NFX_TEST_H
+
+#include <atomic>
+#include <cstdio>
+
+namespace nfx::test {
+
+    /**
+     * Failed checks so far, over all threads.
+     */
+    inline std::atomic<int> &failureCount() {
+        static std::atomic<int> count{0};
+        return count;
+    }
+
+    /**
+     * Records a failed check.
+     */
+    inline void fail(const char *file, int line, const char *what) {
+        failureCount().fetch_add(1);
+        std::fprintf(stderr, "%s:%d: check failed: %s\n", file, line, what);
+    }
+
+    /**
+     * Gets the process exit code: 0 when every check passed.
+     */
+    inline int failures() {
+        const int count = failureCount().load();
+        if (count != 0)
+            std::fprintf(stderr, "%d check(s) failed\n", count);
+        return count == 0 ? 0 : 1;
+    }
+}
+
+#define NFX_CHECK(condition) \
+    do { if (!(condition)) nfx::test::fail(__FILE__, __LINE__, #condition); } while (0)
+
+#define NFX_CHECK_EQ(expected, actual) \
+    do { \
+        const long long nfxExpected_ = static_cast<long long>(expected); \
+        const long long nfxActual_ = static_cast<long long>(actual); \
+        if (nfxExpected_ != nfxActual_) { \
+            char nfxWhat_[256]; \
+            std::snprintf(nfxWhat_, sizeof nfxWhat_, "%s == %s (expected %lld, got %lld)", \
+                          #expected, #actual, nfxExpected_, nfxActual_); \
+            nfx::test::fail(__FILE__, __LINE__, nfxWhat_); \
+        } \
+    } while (0)
+
+#endif //NFX_CORE_WIN64_NFX_TEST_H
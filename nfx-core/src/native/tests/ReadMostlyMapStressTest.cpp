@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Stress test for ReadMostlyMap: readers look keys up without pause while writers keep
+  * putting and removing them. A reader must only ever see a key's own value or nothing,
+  * and the keys nobody removes must always be found. Freed tables read by a late reader
+  * show up under -DNFX_TEST_SANITIZER=address.
+  */
+
+#include <atomic>
+#include <chrono>
+#include <cstdint>
+#include <cstdio>
+#include <thread>
+#include <vector>
+
+#include "NfxTest.h"
+#include "ReadMostlyMap.h"
+
+namespace {
+    constexpr int READERS = 4;
+    constexpr int WRITERS = 2;
+    constexpr uintptr_t KEYS = 256;
+    // every STABLE_EVERY-th key is put once and never removed
+    constexpr uintptr_t STABLE_EVERY = 8;
+    constexpr auto DURATION = std::chrono::milliseconds(1500);
+
+    /**
+     * The only value a key is ever mapped to, never null.
+     */
+    void *valueOf(uintptr_t key) {
+        return reinterpret_cast<void *>(key * 16 + 8);
+    }
+
+    /**
+     * Small xorshift generator, one per thread.
+     */
+    struct Random {
+        uint64_t state;
+
+        uintptr_t next(uintptr_t bound) {
+            state ^= state << 13;
+            state ^= state >> 7;
+            state ^= state << 17;
+            return static_cast<uintptr_t>(state % bound);
+        }
+    };
+}
+
+int main() {
+    nfx::ReadMostlyMap<uintptr_t, void *> map;
+    for (uintptr_t key = 0; key < KEYS; key += STABLE_EVERY)
+        map.put(key, valueOf(key));
+
+    std::atomic<bool> stop{false};
+    std::atomic<long long> lookups{0}, writes{0};
+    std::vector<std::thread> threads;
+
+    for (int r = 0; r < READERS; r++) {
+        threads.emplace_back([&, r] {
+            Random random{0x9E3779B97F4A7C15ull + r};
+            long long count = 0;
+            while (!stop.load(std::memory_order_relaxed)) {
+                const uintptr_t key = random.next(KEYS + 16); // some keys never exist
+                void *value = map.get(key);
+                if (key % STABLE_EVERY == 0 && key < KEYS)
+                    NFX_CHECK(value == valueOf(key));
+                else
+                    NFX_CHECK(value == nullptr || value == valueOf(key));
+                count++;
+            }
+            lookups.fetch_add(count);
+        });
+    }
+
+    for (int w = 0; w < WRITERS; w++) {
+        threads.emplace_back([&, w] {
+            Random random{0xD1B54A32D192ED03ull + w};
+            long long count = 0;
+            while (!stop.load(std::memory_order_relaxed)) {
+                uintptr_t key = random.next(KEYS);
+                if (key % STABLE_EVERY == 0)
+                    key++;
+                if (random.next(2) == 0)
+                    map.put(key, valueOf(key));
+                else
+                    map.remove(key);
+                count++;
+            }
+            writes.fetch_add(count);
+        });
+    }
+
+    std::this_thread::sleep_for(DURATION);
+    stop.store(true);
+    for (auto &thread : threads)
+        thread.join();
+
+    // single-threaded sanity after the storm
+    for (uintptr_t key = 0; key < KEYS; key++) {
+        if (key % STABLE_EVERY == 0)
+            NFX_CHECK(map.get(key) == valueOf(key));
+        map.remove(key);
+    }
+    NFX_CHECK_EQ(0, map.size());
+    NFX_CHECK(lookups.load() > 0);
+    NFX_CHECK(writes.load() > 0);
+
+    std::printf("lookups %lld, writes %lld\n", lookups.load(), writes.load());
+    return nfx::test::failures();
+}
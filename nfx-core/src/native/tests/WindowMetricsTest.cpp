@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+/**
+  * @author XDSSWAR
+  * Created on 10/17/2026
+  *
+  * Checks WindowMetrics.h against a fake MetricsProvider that counts its calls: values are read
+  * once, each invalidation re-reads only what it covers, and the px/DIP conversions round like
+  * MulDiv.
+  */
+
+#include <cmath>
+#include <cstdio>
+
+#include "NfxTest.h"
+#include "WindowMetrics.h"
+
+namespace {
+    /**
+     * Provider returning settable values and counting the reads.
+     */
+    class FakeProvider final : public nfx::MetricsProvider {
+    public:
+        uint32_t dpiValue = nfx::DEFAULT_DPI;
+        uint32_t styleValue = nfx::STYLE_THICKFRAME;
+        mutable int dpiReads = 0;
+        mutable int borderReads = 0;
+        mutable int styleReads = 0;
+        mutable uint32_t lastBorderDpi = 0;
+
+        uint32_t dpi() const override {
+            dpiReads++;
+            return dpiValue;
+        }
+
+        // 8 px at 96 DPI, scaled
+        int resizeBorderX(uint32_t dpi) const override {
+            borderReads++;
+            lastBorderDpi = dpi;
+            return static_cast<int>(8 * dpi / nfx::DEFAULT_DPI);
+        }
+
+        // 6 px at 96 DPI, scaled
+        int resizeBorderY(uint32_t dpi) const override {
+            borderReads++;
+            lastBorderDpi = dpi;
+            return static_cast<int>(6 * dpi / nfx::DEFAULT_DPI);
+        }
+
+        uint32_t style() const override {
+            styleReads++;
+            return styleValue;
+        }
+    };
+
+    void readsOnce() {
+        FakeProvider provider;
+        nfx::WindowMetrics metrics(&provider);
+        NFX_CHECK_EQ(0, provider.dpiReads + provider.borderReads + provider.styleReads);
+
+        for (int i = 0; i < 100; i++) {
+            NFX_CHECK_EQ(96, metrics.dpi());
+            NFX_CHECK_EQ(8, metrics.resizeBorderX());
+            NFX_CHECK_EQ(6, metrics.resizeBorderY());
+            NFX_CHECK(metrics.isResizable());
+        }
+        NFX_CHECK_EQ(1, provider.dpiReads);
+        NFX_CHECK_EQ(2, provider.borderReads);
+        NFX_CHECK_EQ(1, provider.styleReads);
+    }
+
+    void dpiInvalidation() {
+        FakeProvider provider;
+        nfx::WindowMetrics metrics(&provider);
+        metrics.resizeBorderX();
+        metrics.style();
+
+        // stale until invalidated
+        provider.dpiValue = 144;
+        NFX_CHECK_EQ(96, metrics.dpi());
+        NFX_CHECK_EQ(8, metrics.resizeBorderX());
+
+        // WM_DPICHANGED: DPI and borders re-read together, style kept
+        metrics.invalidateDpi();
+        NFX_CHECK_EQ(12, metrics.resizeBorderX());
+        NFX_CHECK_EQ(144, metrics.dpi());
+        NFX_CHECK_EQ(9, metrics.resizeBorderY());
+        NFX_CHECK_EQ(144, provider.lastBorderDpi);
+        NFX_CHECK(metrics.isResizable());
+        NFX_CHECK_EQ(2, provider.dpiReads);
+        NFX_CHECK_EQ(4, provider.borderReads);
+        NFX_CHECK_EQ(1, provider.styleReads);
+    }
+
+    void styleInvalidation() {
+        FakeProvider provider;
+        nfx::WindowMetrics metrics(&provider);
+        NFX_CHECK(metrics.isResizable());
+        metrics.dpi();
+
+        provider.styleValue = 0;
+        NFX_CHECK(metrics.isResizable());
+
+        // WM_STYLECHANGED: style re-read, DPI kept
+        metrics.invalidateStyle();
+        NFX_CHECK(!metrics.isResizable());
+        NFX_CHECK_EQ(0, metrics.style());
+        NFX_CHECK_EQ(8, metrics.resizeBorderX());
+        NFX_CHECK_EQ(2, provider.styleReads);
+        NFX_CHECK_EQ(1, provider.dpiReads);
+    }
+
+    void fullInvalidation() {
+        FakeProvider provider;
+        nfx::WindowMetrics metrics(&provider);
+        metrics.dpi();
+        metrics.style();
+
+        provider.dpiValue = 192;
+        provider.styleValue = 0;
+        metrics.invalidate();
+        NFX_CHECK_EQ(192, metrics.dpi());
+        NFX_CHECK_EQ(16, metrics.resizeBorderX());
+        NFX_CHECK(!metrics.isResizable());
+        NFX_CHECK_EQ(2, provider.dpiReads);
+        NFX_CHECK_EQ(2, provider.styleReads);
+    }
+
+    void zeroDpi() {
+        // GetDpiForWindow fails with 0, the borders are then read at the default DPI
+        FakeProvider provider;
+        provider.dpiValue = 0;
+        nfx::WindowMetrics metrics(&provider);
+        NFX_CHECK_EQ(96, metrics.dpi());
+        NFX_CHECK_EQ(8, metrics.resizeBorderX());
+        NFX_CHECK_EQ(96, provider.lastBorderDpi);
+        NFX_CHECK_EQ(10, metrics.toDip(10));
+        NFX_CHECK_EQ(1, provider.dpiReads);
+    }
+
+    void conversions() {
+        FakeProvider provider;
+        provider.dpiValue = 144;
+        nfx::WindowMetrics metrics(&provider);
+        NFX_CHECK_EQ(100, metrics.toDip(150));
+        NFX_CHECK_EQ(150, metrics.toPx(100));
+
+        // halves go away from zero
+        NFX_CHECK_EQ(1, nfx::pxToDip(1, 192));
+        NFX_CHECK_EQ(-1, nfx::pxToDip(-1, 192));
+        NFX_CHECK_EQ(2, nfx::dipToPx(1, 144));
+        NFX_CHECK_EQ(-2, nfx::dipToPx(-1, 144));
+        NFX_CHECK_EQ(7, nfx::pxToDip(7, 0));
+
+        // same as a rounded division at the common scales
+        const uint32_t dpis[] = {96, 120, 144, 168, 192, 240, 288, 384};
+        for (uint32_t dpi : dpis) {
+            for (int v = -2000; v <= 2000; v++) {
+                NFX_CHECK_EQ(std::lround(v * 96.0 / static_cast<double>(dpi)), nfx::pxToDip(v, dpi));
+                NFX_CHECK_EQ(std::lround(v * static_cast<double>(dpi) / 96.0), nfx::dipToPx(v, dpi));
+            }
+        }
+    }
+}
+
+int main() {
+    readsOnce();
+    dpiInvalidation();
+    styleInvalidation();
+    fullInvalidation();
+    zeroDpi();
+    conversions();
+    return nfx::test::failures();
+}
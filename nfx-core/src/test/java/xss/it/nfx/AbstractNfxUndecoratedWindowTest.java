@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the state transactions of {@link AbstractNfxUndecoratedWindow} headless under
+ * {@link SimulatedBackend}: however the window is maximized, minimized or restored, and however
+ * far the change fans out through the state listeners, it costs exactly one native update, and
+ * a burst of size changes costs at most one per pulse.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+class AbstractNfxUndecoratedWindowTest {
+    /**
+     * The backend selected by {@code -Dnfx.backend=simulated}.
+     */
+    private static SimulatedBackend backend;
+
+    /**
+     * Starts the toolkit and checks the backend.
+     */
+    @BeforeAll
+    static void startToolkit() throws Exception {
+        Fx.start();
+        backend = assertInstanceOf(SimulatedBackend.class, NfxBackend.current(),
+                "run with -Dnfx.backend=simulated");
+    }
+
+    /**
+     * Maximize, minimize and restore, through the window flags and through the window state,
+     * each issue one native update with the final state. Full-screen mode itself needs the
+     * font stack for its exit hint and does not run headless.
+     */
+    @Test
+    void oneNativeUpdatePerTransition() throws Exception {
+        TestStage stage = Fx.call(TestStage::new);
+        long hWnd = Fx.call(() -> backend.windowHandle(stage));
+
+        Fx.run(() -> {
+            stage.show();
+            try {
+                transition(stage, hWnd, "maximize", s -> s.setMaximized(true));
+                transition(stage, hWnd, "restore", s -> s.setMaximized(false));
+                transition(stage, hWnd, "maximize by state", s -> s.setWindowState(WindowState.MAXIMIZED));
+                transition(stage, hWnd, "restore by state", s -> s.setWindowState(WindowState.NORMAL));
+                transition(stage, hWnd, "minimize", s -> s.setIconified(true));
+                transition(stage, hWnd, "restore from minimized", s -> s.setIconified(false));
+                // handleState maximizes, and the maximized listener sets the state again
+                transition(stage, hWnd, "full screen by state", s -> s.setWindowState(WindowState.FULL_SCREEN));
+                transition(stage, hWnd, "restore by state", s -> s.setWindowState(WindowState.NORMAL));
+            } finally {
+                stage.hide();
+            }
+        });
+    }
+
+    /**
+     * Every show reinstalls the window procedure, so the size changes of the first pulse after it
+     * issue one native update however many there are. A later burst with the same maximized and
+     * full-screen flags issues none.
+     */
+    @Test
+    void oneSizeUpdatePerPulse() throws Exception {
+        TestStage stage = Fx.call(TestStage::new);
+        long hWnd = Fx.call(() -> backend.windowHandle(stage));
+
+        int[] before = Fx.call(() -> {
+            int[] counts = {stage.getSizeUpdateRequests(), stage.getSizeUpdatesIssued(), 0};
+            stage.show();
+            counts[2] = backend.updates(hWnd);
+            resize(stage);
+            return counts;
+        });
+        try {
+            pulse(stage);
+            Fx.run(() -> {
+                int requests = stage.getSizeUpdateRequests() - before[0];
+                int issued = stage.getSizeUpdatesIssued() - before[1];
+                assertTrue(requests > issued, requests + " size requests for " + issued + " updates");
+                assertEquals(1, issued, "size updates issued in the first pulse");
+                assertEquals(before[2] + 1, backend.updates(hWnd), "backend updates in the first pulse");
+            });
+
+            int[] burst = Fx.call(() -> {
+                int[] counts = {stage.getSizeUpdateRequests(), stage.getSizeUpdatesIssued(), backend.updates(hWnd)};
+                resize(stage);
+                return counts;
+            });
+            pulse(stage);
+            Fx.run(() -> {
+                assertTrue(stage.getSizeUpdateRequests() > burst[0], "no size requests in the burst");
+                assertEquals(burst[1], stage.getSizeUpdatesIssued(), "size updates for unchanged flags");
+                assertEquals(burst[2], backend.updates(hWnd), "backend updates for unchanged flags");
+            });
+        } finally {
+            Fx.run(stage::hide);
+        }
+    }
+
+    /**
+     * Resizes the stage step by step, as a drag-resize does between two pulses.
+     *
+     * @param stage the shown stage
+     */
+    private static void resize(TestStage stage) {
+        for (int i = 1; i <= 10; i++) {
+            stage.setWidth(400 + i * 5);
+            stage.setHeight(300 + i * 3);
+        }
+    }
+
+    /**
+     * Waits until a pulse has laid out the stage's scene, after its own pulse listeners ran.
+     *
+     * @param stage the shown stage
+     */
+    private static void pulse(TestStage stage) throws Exception {
+        CountDownLatch laidOut = new CountDownLatch(1);
+        Runnable listener = laidOut::countDown;
+        Scene scene = Fx.call(stage::getScene);
+        Fx.run(() -> {
+            scene.addPostLayoutPulseListener(listener);
+            Platform.requestNextPulse();
+        });
+        try {
+            assertTrue(laidOut.await(10, TimeUnit.SECONDS), "no pulse");
+        } finally {
+            Fx.run(() -> scene.removePostLayoutPulseListener(listener));
+        }
+    }
+
+    /**
+     * Makes one state change and checks it cost one native update, counted by the window and
+     * received by the backend, and that the update carried the final state.
+     *
+     * @param stage  the shown stage
+     * @param hWnd   its synthetic handle
+     * @param name   the change, for the messages
+     * @param change the change
+     */
+    private static void transition(TestStage stage, long hWnd, String name, Consumer<TestStage> change) {
+        int count = stage.getNativeUpdateCount();
+        int updates = backend.updates(hWnd);
+        change.accept(stage);
+        assertEquals(count + 1, stage.getNativeUpdateCount(), "native update count, " + name);
+        assertEquals(updates + 1, backend.updates(hWnd), "backend updates, " + name);
+        assertEquals(stage.isMaximized(), backend.isMaximized(hWnd), "backend maximized, " + name);
+        assertEquals(stage.isFullScreen(), backend.isFullScreen(hWnd), "backend full screen, " + name);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Starts the JavaFX toolkit once per test JVM and runs test code on its thread.
+ * The build runs the tests on the headless Monocle platform.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+final class Fx {
+    /**
+     * How long a test waits for the FX thread.
+     */
+    private static final long TIMEOUT_SECONDS = 10;
+
+    /**
+     * Set once the toolkit is started.
+     */
+    private static boolean started = false;
+
+    /**
+     * Not instantiable.
+     */
+    private Fx() {
+    }
+
+    /**
+     * Starts the toolkit if no test did yet, keeping it alive when the last window closes.
+     */
+    static synchronized void start() throws InterruptedException {
+        if (started) return;
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            Platform.startup(latch::countDown);
+        } catch (IllegalStateException alreadyRunning) {
+            latch.countDown();
+        }
+        Platform.setImplicitExit(false);
+        if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("JavaFX toolkit did not start");
+        }
+        started = true;
+    }
+
+    /**
+     * Runs a task on the FX thread and waits for its result.
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return the result
+     */
+    static <T> T call(Callable<T> task) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            return result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("FX thread did not answer", e);
+        }
+    }
+
+    /**
+     * Runs an action on the FX thread and waits for it.
+     *
+     * @param action the action
+     */
+    static void run(Runnable action) throws Exception {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
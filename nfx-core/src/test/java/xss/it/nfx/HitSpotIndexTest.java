@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+package xss.it.nfx;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares {@link HitSpotIndex#find} with a plain scan over random spots: overlapping,
+ * nested, empty, and spread well past the column grid.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+class HitSpotIndexTest {
+    /**
+     * Random layouts per test.
+     */
+    private static final int LAYOUTS = 300;
+
+    /**
+     * Probes per layout.
+     */
+    private static final int PROBES = 400;
+
+    /**
+     * A flat list keeps the first spot containing the point.
+     */
+    @Test
+    void flatMatchesFirstMatchScan() {
+        Random random = new Random(0x5EED0002L);
+        for (int layout = 0; layout < LAYOUTS; layout++) {
+            int count = random.nextInt(40);
+            double[] rects = new double[count * 4];
+            double span = span(random);
+            for (int i = 0; i < count; i++) {
+                randomRect(random, rects, i, span);
+            }
+            HitSpotIndex index = new HitSpotIndex(rects);
+            for (int probe = 0; probe < PROBES; probe++) {
+                double[] p = probe(random, rects, span);
+                assertEquals(firstMatch(rects, p[0], p[1]), index.find(p[0], p[1]),
+                        "layout " + layout + " at " + p[0] + "," + p[1]);
+            }
+        }
+    }
+
+    /**
+     * A tree keeps the innermost spot, the first one among siblings.
+     */
+    @Test
+    void treeMatchesInnermostScan() {
+        Random random = new Random(0x5EED0007L);
+        for (int layout = 0; layout < LAYOUTS; layout++) {
+            double span = span(random);
+            List<double[]> spots = new ArrayList<>();
+            List<Integer> ends = new ArrayList<>();
+            int roots = random.nextInt(12);
+            for (int r = 0; r < roots; r++) {
+                randomTree(random, spots, ends, span, 0);
+            }
+            double[] rects = new double[spots.size() * 4];
+            int[] end = new int[ends.size()];
+            for (int i = 0; i < end.length; i++) {
+                System.arraycopy(spots.get(i), 0, rects, i * 4, 4);
+                end[i] = ends.get(i);
+            }
+            HitSpotIndex index = new HitSpotIndex(rects, end);
+            for (int probe = 0; probe < PROBES; probe++) {
+                double[] p = probe(random, rects, span);
+                assertEquals(innermost(rects, end, null, p[0], p[1]), index.find(p[0], p[1]),
+                        "layout " + layout + " at " + p[0] + "," + p[1]);
+            }
+        }
+    }
+
+    /**
+     * A rejected precise spot lets the lookup go on with its parent and the next siblings.
+     */
+    @Test
+    void preciseSpotsMatchRefinedScan() {
+        Random random = new Random(0x5EED0008L);
+        HitSpotIndex.Refinement refinement = (i, x, y) -> ((int) Math.floor(x / 3) + (int) Math.floor(y / 3) + i) % 2 == 0;
+        for (int layout = 0; layout < LAYOUTS; layout++) {
+            double span = span(random);
+            List<double[]> spots = new ArrayList<>();
+            List<Integer> ends = new ArrayList<>();
+            int roots = random.nextInt(12);
+            for (int r = 0; r < roots; r++) {
+                randomTree(random, spots, ends, span, 0);
+            }
+            double[] rects = new double[spots.size() * 4];
+            int[] end = new int[ends.size()];
+            boolean[] precise = new boolean[end.length];
+            for (int i = 0; i < end.length; i++) {
+                System.arraycopy(spots.get(i), 0, rects, i * 4, 4);
+                end[i] = ends.get(i);
+                precise[i] = random.nextInt(3) == 0;
+            }
+            HitSpotIndex index = new HitSpotIndex(rects, end, precise);
+            for (int probe = 0; probe < PROBES; probe++) {
+                double[] p = probe(random, rects, span);
+                assertEquals(innermost(rects, end, precise, p[0], p[1], refinement),
+                        index.find(p[0], p[1], refinement),
+                        "layout " + layout + " at " + p[0] + "," + p[1]);
+            }
+        }
+    }
+
+    /**
+     * A chain of spots nested far deeper than a recursive lookup could go, each one inset by
+     * an exactly representable step from its parent.
+     */
+    @Test
+    void deepNestingIsIterative() {
+        int depth = 100_000;
+        double[] rects = new double[depth * 4];
+        int[] end = new int[depth];
+        boolean[] precise = new boolean[depth];
+        for (int i = 0; i < depth; i++) {
+            double inset = i / 1024.0;
+            rects[i * 4] = rects[i * 4 + 1] = inset;
+            rects[i * 4 + 2] = rects[i * 4 + 3] = 1000 - inset;
+            end[i] = depth;
+            precise[i] = i >= depth / 2;
+        }
+        HitSpotIndex index = new HitSpotIndex(rects, end, precise);
+        assertEquals(depth - 1, index.find(500, 500));
+        assertEquals(1234, index.find((1234 + 0.5) / 1024, 500));
+        // every precise spot rejected, the lookup climbs back to the innermost plain one
+        assertEquals(depth / 2 - 1, index.find(500, 500, (i, x, y) -> false));
+    }
+
+    /**
+     * Scans every spot in order, keeping the first containing the point.
+     */
+    private static int firstMatch(double[] rects, double x, double y) {
+        for (int i = 0; i < rects.length / 4; i++) {
+            if (contains(rects, i, x, y)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Scans the tree without subtree bounds or columns, children before their parent.
+     */
+    private static int innermost(double[] rects, int[] ends, boolean[] precise, double x, double y) {
+        return innermost(rects, ends, precise, x, y, null);
+    }
+
+    /**
+     * Scans the tree without subtree bounds or columns, children before their parent,
+     * confirming precise spots with the refinement.
+     */
+    private static int innermost(double[] rects, int[] ends, boolean[] precise, double x, double y,
+                                 HitSpotIndex.Refinement refinement) {
+        for (int i = 0; i < ends.length; i = ends[i]) {
+            int hit = subtree(rects, ends, precise, i, x, y, refinement);
+            if (hit >= 0) return hit;
+        }
+        return -1;
+    }
+
+    /**
+     * Scans the subtree of spot {@code i}, children first.
+     */
+    private static int subtree(double[] rects, int[] ends, boolean[] precise, int i, double x, double y,
+                               HitSpotIndex.Refinement refinement) {
+        for (int c = i + 1; c < ends[i]; c = ends[c]) {
+            int hit = subtree(rects, ends, precise, c, x, y, refinement);
+            if (hit >= 0) return hit;
+        }
+        if (!contains(rects, i, x, y)) return -1;
+        if (precise != null && precise[i] && refinement != null && !refinement.contains(i, x, y)) return -1;
+        return i;
+    }
+
+    /**
+     * Edges inclusive, NaN never matches.
+     */
+    private static boolean contains(double[] rects, int i, double x, double y) {
+        return x >= rects[i * 4] && x <= rects[i * 4 + 2] && y >= rects[i * 4 + 1] && y <= rects[i * 4 + 3];
+    }
+
+    /**
+     * Appends a spot and, below three levels, some children, in pre-order.
+     */
+    static void randomTree(Random random, List<double[]> spots, List<Integer> ends, double span, int depth) {
+        int self = spots.size();
+        double[] rect = new double[4];
+        randomRect(random, rect, 0, span);
+        spots.add(rect);
+        ends.add(-1);
+        int children = depth < 3 ? random.nextInt(4) : 0;
+        for (int c = 0; c < children; c++) {
+            randomTree(random, spots, ends, span, depth + 1);
+        }
+        ends.set(self, spots.size());
+    }
+
+    /**
+     * Writes a random rectangle, sometimes empty, sometimes reaching far past the others.
+     */
+    static void randomRect(Random random, double[] rects, int i, double span) {
+        int kind = random.nextInt(10);
+        if (kind == 0) {
+            rects[i * 4] = rects[i * 4 + 1] = rects[i * 4 + 2] = rects[i * 4 + 3] = Double.NaN;
+            return;
+        }
+        double width = kind == 1 ? span * (1 + random.nextDouble()) : random.nextDouble() * span / 4;
+        double height = random.nextDouble() * 40;
+        double minX = (random.nextDouble() - 0.25) * span;
+        double minY = random.nextDouble() * 40 - 5;
+        if (random.nextBoolean()) {
+            // whole DIP values make shared edges likely
+            minX = Math.rint(minX);
+            minY = Math.rint(minY);
+            width = Math.rint(width);
+            height = Math.rint(height);
+        }
+        rects[i * 4] = minX;
+        rects[i * 4 + 1] = minY;
+        rects[i * 4 + 2] = minX + width;
+        rects[i * 4 + 3] = minY + height;
+    }
+
+    /**
+     * Picks a layout width, from a few columns to far more than the grid holds.
+     */
+    static double span(Random random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> 64;
+            case 1 -> 1200;
+            default -> 40_000;
+        };
+    }
+
+    /**
+     * Picks a point: anywhere around the layout, or on a spot edge or corner.
+     */
+    static double[] probe(Random random, double[] rects, double span) {
+        int count = rects.length / 4;
+        if (count > 0 && random.nextBoolean()) {
+            int i = random.nextInt(count);
+            if (!Double.isNaN(rects[i * 4])) {
+                double x = random.nextBoolean() ? rects[i * 4 + random.nextInt(2) * 2]
+                        : rects[i * 4] + random.nextDouble() * (rects[i * 4 + 2] - rects[i * 4]);
+                double y = random.nextBoolean() ? rects[i * 4 + 1 + random.nextInt(2) * 2]
+                        : rects[i * 4 + 1] + random.nextDouble() * (rects[i * 4 + 3] - rects[i * 4 + 1]);
+                return new double[]{x, y};
+            }
+        }
+        return new double[]{(random.nextDouble() * 1.8 - 0.4) * span, random.nextDouble() * 60 - 10};
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the shape test of precise {@link HitSpot}s on a pill-shaped control laid out without
+ * being shown: the transparent corners miss, the body hits, and the control keeps picking on
+ * its bounds for the app's own mouse handling.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+class HitSpotTest {
+    /**
+     * Size of the pill, also the corner diameter.
+     */
+    private static final double WIDTH = 80, HEIGHT = 32;
+
+    /**
+     * Starts the toolkit.
+     */
+    @BeforeAll
+    static void startToolkit() throws Exception {
+        Fx.start();
+    }
+
+    /**
+     * A precise spot rejects the corners of the pill without clearing its pickOnBounds.
+     */
+    @Test
+    void preciseLeavesPickOnBounds() throws Exception {
+        Fx.run(() -> {
+            Region pill = new Region();
+            pill.setBackground(new Background(new BackgroundFill(Color.GRAY,
+                    new CornerRadii(HEIGHT / 2), Insets.EMPTY)));
+            pill.resizeRelocate(10, 10, WIDTH, HEIGHT);
+            pill.setPickOnBounds(true);
+            new Scene(new Pane(pill), 200, 100);
+
+            HitSpot spot = HitSpot.builder().window(new TestStage()).control(pill).precise(true).build();
+            assertTrue(pill.isPickOnBounds());
+            assertTrue(spot.contains(10 + WIDTH / 2, 10 + HEIGHT / 2));
+            assertFalse(spot.contains(11, 11));
+            assertFalse(spot.contains(9 + WIDTH, 9 + HEIGHT));
+            assertTrue(pill.isPickOnBounds());
+        });
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+package xss.it.nfx;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keeps the fixture of the native {@code HitTableTest} current.
+ * <p>
+ * The fixture holds random hit tables written by {@link HitTestTable#write}, exactly as
+ * {@link HitTestTable#publish} writes them, and probes resolved by {@link HitSpotIndex} and
+ * {@link AbstractNfxUndecoratedWindow#hitTestCode}. The native test looks the same probes up
+ * with {@code HitTable.h} and must get the same answers. All values are little-endian:
+ * <pre>
+ *  int     magic "NFXH", version, table count
+ *  per table:
+ *    int   table bytes, then the table (header and entries, generation 2)
+ *    int   probe count
+ *    per probe: int x, int y, int index (HitSpotIndex.find, -1 for none),
+ *               int code, int code on the top resize border, byte precise
+ * </pre>
+ * Run with {@code -Dnfx.updateFixtures=true} ({@code gradle test -PupdateFixtures}) to rewrite
+ * the fixture after changing the layout or the rules.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+class HitTableFixtureTest {
+    /**
+     * The fixture, relative to the nfx-core project directory.
+     */
+    static final Path FIXTURE = Path.of("src", "native", "tests", "fixtures", "hit-table.bin");
+
+    /**
+     * "NFXH", little-endian.
+     */
+    private static final int MAGIC = 0x4858464E;
+
+    /**
+     * Fixture format version.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Random tables in the fixture.
+     */
+    private static final int TABLES = 40;
+
+    /**
+     * Probes per table.
+     */
+    private static final int PROBES = 150;
+
+    /**
+     * Codes a spot can have.
+     */
+    private static final int[] CODES = {
+            AbstractNfxUndecoratedWindow.HT_CLIENT, AbstractNfxUndecoratedWindow.HT_CAPTION,
+            AbstractNfxUndecoratedWindow.HT_SYS_MENU, AbstractNfxUndecoratedWindow.HT_MIN_BUTTON,
+            AbstractNfxUndecoratedWindow.HT_MAX_BUTTON, AbstractNfxUndecoratedWindow.HT_CLOSE
+    };
+
+    /**
+     * The committed fixture is what the current Java code produces.
+     */
+    @Test
+    void fixtureIsCurrent() throws IOException {
+        byte[] expected = generate();
+        if (Boolean.getBoolean("nfx.updateFixtures")) {
+            Files.createDirectories(FIXTURE.getParent());
+            Files.write(FIXTURE, expected);
+        }
+        assertTrue(Files.isRegularFile(FIXTURE), "missing " + FIXTURE.toAbsolutePath());
+        assertArrayEquals(expected, Files.readAllBytes(FIXTURE),
+                FIXTURE + " is stale, rerun with -Dnfx.updateFixtures=true");
+    }
+
+    /**
+     * Generates the fixture, the same bytes on every run.
+     */
+    private static byte[] generate() {
+        Random random = new Random(0x5EED0005L);
+        List<ByteBuffer> parts = new ArrayList<>();
+        ByteBuffer head = little(12).putInt(MAGIC).putInt(VERSION).putInt(TABLES);
+        parts.add(head);
+        for (int t = 0; t < TABLES; t++) {
+            double span = HitSpotIndexTest.span(random);
+            List<double[]> spots = new ArrayList<>();
+            List<Integer> ends = new ArrayList<>();
+            int roots = 1 + random.nextInt(8);
+            for (int r = 0; r < roots; r++) {
+                HitSpotIndexTest.randomTree(random, spots, ends, span, 1);
+            }
+            int count = spots.size();
+            double[] rects = new double[count * 4];
+            int[] end = new int[count];
+            int[] codes = new int[count];
+            boolean[] precise = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(spots.get(i), 0, rects, i * 4, 4);
+                end[i] = ends.get(i);
+                codes[i] = CODES[random.nextInt(CODES.length)];
+                precise[i] = random.nextInt(4) == 0;
+            }
+            HitSpotIndex index = new HitSpotIndex(rects, end, precise);
+            double titleBarHeight = 24 + random.nextInt(25);
+
+            int bytes = HitTestTable.HEADER_BYTES + count * HitTestTable.ENTRY_BYTES;
+            ByteBuffer table = little(4 + bytes + 4);
+            table.putInt(bytes);
+            ByteBuffer view = table.slice(4, bytes).order(ByteOrder.LITTLE_ENDIAN);
+            view.putInt(0, 2);
+            HitTestTable.write(view, index, i -> codes[i], titleBarHeight);
+            table.position(4 + bytes).putInt(PROBES);
+            parts.add(table);
+
+            ByteBuffer probes = little(PROBES * 21);
+            for (int p = 0; p < PROBES; p++) {
+                double[] point = HitSpotIndexTest.probe(random, rects, span);
+                int x = (int) Math.round(point[0]);
+                int y = (int) Math.round(point[1]);
+                int found = index.find(x, y);
+                boolean isOnTitleBar = y < titleBarHeight;
+                int spotCode = isOnTitleBar && found >= 0 ? codes[found] : 0;
+                probes.putInt(x).putInt(y).putInt(found)
+                        .putInt(AbstractNfxUndecoratedWindow.hitTestCode(spotCode, isOnTitleBar, false))
+                        .putInt(AbstractNfxUndecoratedWindow.hitTestCode(spotCode, isOnTitleBar, true))
+                        .put((byte) (isOnTitleBar && found >= 0 && index.isPrecise(found) ? 1 : 0));
+            }
+            parts.add(probes);
+        }
+
+        int size = parts.stream().mapToInt(ByteBuffer::capacity).sum();
+        ByteBuffer out = ByteBuffer.allocate(size);
+        parts.forEach(part -> out.put(part.clear()));
+        return out.array();
+    }
+
+    /**
+     * Allocates a little-endian heap buffer.
+     */
+    private static ByteBuffer little(int bytes) {
+        return ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hides and shows a window many times under {@link SimulatedBackend} and checks that nothing
+ * piles up: the install and show listeners are replaced, not stacked, and every cycle costs
+ * the same number of native updates.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+class ListenerLifecycleTest {
+    /**
+     * Hide/show cycles after the first one.
+     */
+    private static final int CYCLES = 20;
+
+    /**
+     * The backend selected by {@code -Dnfx.backend=simulated}.
+     */
+    private static SimulatedBackend backend;
+
+    /**
+     * Starts the toolkit and checks the backend.
+     */
+    @BeforeAll
+    static void startToolkit() throws Exception {
+        Fx.start();
+        backend = assertInstanceOf(SimulatedBackend.class, NfxBackend.current(),
+                "run with -Dnfx.backend=simulated");
+    }
+
+    /**
+     * Listener counts and native updates per cycle stay what they were for the first cycle.
+     */
+    @Test
+    void hideShowCyclesStayFlat() throws Exception {
+        TestStage stage = Fx.call(TestStage::new);
+        long hWnd = Fx.call(() -> backend.windowHandle(stage));
+
+        Cycle first = Fx.call(() -> cycle(stage, hWnd));
+        assertTrue(first.installListeners > 0, "no install listener registered");
+        assertTrue(first.showListeners > 0, "no show listener registered");
+        assertTrue(first.updates > 0, "no native update on show");
+
+        for (int i = 0; i < CYCLES; i++) {
+            Cycle next = Fx.call(() -> cycle(stage, hWnd));
+            assertEquals(first.installListeners, next.installListeners, "install listeners, cycle " + i);
+            assertEquals(first.showListeners, next.showListeners, "show listeners, cycle " + i);
+            assertEquals(first.updates, next.updates, "native updates, cycle " + i);
+            assertEquals(first.nativeUpdates, next.nativeUpdates, "window update count, cycle " + i);
+        }
+
+        Fx.run(() -> {
+            assertEquals(0, stage.getInstallListenerCount(), "install listeners after hide");
+            assertFalse(backend.isInstalled(hWnd), "still installed after hide");
+        });
+    }
+
+    /**
+     * Shows and hides the stage once, on the FX thread.
+     *
+     * @param stage the stage
+     * @param hWnd  its synthetic handle
+     * @return what the cycle registered and cost
+     */
+    private static Cycle cycle(TestStage stage, long hWnd) {
+        int updates = backend.updates(hWnd);
+        int nativeUpdates = stage.getNativeUpdateCount();
+        stage.show();
+        assertTrue(stage.isNfxReady(), "native side not set up on show");
+        assertTrue(backend.isInstalled(hWnd), "not installed on show");
+        int installListeners = stage.getInstallListenerCount();
+        int showListeners = stage.getShowListenerCount();
+        stage.hide();
+        return new Cycle(installListeners, showListeners,
+                backend.updates(hWnd) - updates, stage.getNativeUpdateCount() - nativeUpdates);
+    }
+
+    /**
+     * What one hide/show cycle registered and cost.
+     */
+    private static final class Cycle {
+        /**
+         * Install listeners while shown.
+         */
+        private final int installListeners;
+
+        /**
+         * Show listeners while shown.
+         */
+        private final int showListeners;
+
+        /**
+         * Frame updates received by the backend.
+         */
+        private final int updates;
+
+        /**
+         * Native updates counted by the window.
+         */
+        private final int nativeUpdates;
+
+        /**
+         * Creates a cycle result.
+         */
+        private Cycle(int installListeners, int showListeners, int updates, int nativeUpdates) {
+            this.installListeners = installListeners;
+            this.showListeners = showListeners;
+            this.updates = updates;
+            this.nativeUpdates = nativeUpdates;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+package xss.it.nfx;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resolves a dummy bundled library: extraction to the hashed cache, installed copies and
+ * the copies that must not be picked up.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+class NativeLoaderTest {
+    /**
+     * File name of the dummy library.
+     */
+    private static final String LIB = "nfx-dummy.dll";
+
+    /**
+     * Resource path of the dummy library.
+     */
+    private static final String RESOURCE = "/native-loader/" + LIB;
+
+    /**
+     * Scratch directory of the test.
+     */
+    @TempDir
+    Path temp;
+
+    /**
+     * {@code nfx.library.path} before the test.
+     */
+    private String libraryPath;
+
+    /**
+     * {@code java.library.path} before the test.
+     */
+    private String javaLibraryPath;
+
+    /**
+     * Saves the properties the tests change.
+     */
+    @BeforeEach
+    void saveProperties() {
+        libraryPath = System.getProperty(NativeLoader.LIBRARY_PATH_PROPERTY);
+        javaLibraryPath = System.getProperty("java.library.path");
+        System.clearProperty(NativeLoader.LIBRARY_PATH_PROPERTY);
+    }
+
+    /**
+     * Restores the properties the tests changed.
+     */
+    @AfterEach
+    void restoreProperties() {
+        restore(NativeLoader.LIBRARY_PATH_PROPERTY, libraryPath);
+        restore("java.library.path", javaLibraryPath);
+    }
+
+    /**
+     * Without an installed copy the resource is extracted once, then reused.
+     */
+    @Test
+    void extractsToHashedCacheOnce() throws IOException {
+        Path cache = temp.resolve("cache");
+        Path first = NativeLoader.resolve(LIB, RESOURCE, getClass(), cache);
+
+        assertTrue(first.startsWith(cache.toAbsolutePath()), first.toString());
+        assertEquals(LIB, first.getFileName().toString());
+        assertArrayEquals(bundled(), Files.readAllBytes(first));
+
+        // backdated, so a rewrite would show even on a coarse clock
+        FileTime stamp = FileTime.from(Files.getLastModifiedTime(first).toInstant().minusSeconds(60));
+        Files.setLastModifiedTime(first, stamp);
+        Path second = NativeLoader.resolve(LIB, RESOURCE, getClass(), cache);
+        assertEquals(first, second);
+        assertEquals(stamp, Files.getLastModifiedTime(second), "extracted again");
+    }
+
+    /**
+     * A damaged cached copy of the same size is replaced.
+     */
+    @Test
+    void replacesDamagedCacheEntry() throws IOException {
+        Path cache = temp.resolve("cache");
+        Path lib = NativeLoader.resolve(LIB, RESOURCE, getClass(), cache);
+        byte[] damaged = bundled();
+        damaged[0] ^= 0x7F;
+        Files.write(lib, damaged);
+
+        assertEquals(lib, NativeLoader.resolve(LIB, RESOURCE, getClass(), cache));
+        assertArrayEquals(bundled(), Files.readAllBytes(lib));
+    }
+
+    /**
+     * A copy matching the bundled library in an opted-in directory is used in place.
+     */
+    @Test
+    void usesMatchingCopyFromOptInDirectory() throws IOException {
+        Path installed = Files.createDirectories(temp.resolve("installed"));
+        Files.write(installed.resolve(LIB), bundled());
+        System.setProperty(NativeLoader.LIBRARY_PATH_PROPERTY, installed.toString());
+
+        Path lib = NativeLoader.resolve(LIB, RESOURCE, getClass(), temp.resolve("cache"));
+
+        assertEquals(installed.resolve(LIB).toAbsolutePath(), lib);
+        assertTrue(Files.notExists(temp.resolve("cache")), "extracted although installed");
+    }
+
+    /**
+     * A stale copy in an opted-in directory is skipped for the bundled one.
+     */
+    @Test
+    void skipsStaleCopyFromOptInDirectory() throws IOException {
+        Path installed = Files.createDirectories(temp.resolve("installed"));
+        Files.writeString(installed.resolve(LIB), "an older build");
+        System.setProperty(NativeLoader.LIBRARY_PATH_PROPERTY, installed.toString());
+
+        Path lib = NativeLoader.resolve(LIB, RESOURCE, getClass(), temp.resolve("cache"));
+
+        assertNotEquals(installed.resolve(LIB).toAbsolutePath(), lib);
+        assertArrayEquals(bundled(), Files.readAllBytes(lib));
+    }
+
+    /**
+     * A same-named file on {@code java.library.path} is never picked up, matching or not.
+     */
+    @Test
+    void ignoresJavaLibraryPath() throws IOException {
+        Path planted = Files.createDirectories(temp.resolve("planted"));
+        Files.write(planted.resolve(LIB), bundled());
+        System.setProperty("java.library.path", planted.toString());
+
+        Path lib = NativeLoader.resolve(LIB, RESOURCE, getClass(), temp.resolve("cache"));
+
+        assertTrue(lib.startsWith(temp.resolve("cache").toAbsolutePath()), lib.toString());
+    }
+
+    /**
+     * Without a bundled library an installed copy is taken as is, and its absence fails.
+     */
+    @Test
+    void unbundledNeedsInstalledCopy() throws IOException {
+        String missing = "/native-loader/missing.dll";
+        assertThrows(IOException.class,
+                () -> NativeLoader.resolve("missing.dll", missing, getClass(), temp.resolve("cache")));
+
+        Path installed = Files.createDirectories(temp.resolve("installed"));
+        Files.writeString(installed.resolve("missing.dll"), "anything");
+        System.setProperty(NativeLoader.LIBRARY_PATH_PROPERTY, installed.toString());
+
+        assertEquals(installed.resolve("missing.dll").toAbsolutePath(),
+                NativeLoader.resolve("missing.dll", missing, getClass(), temp.resolve("cache")));
+    }
+
+    /**
+     * Reads the dummy library from the test resources.
+     */
+    private byte[] bundled() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(RESOURCE)) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * Puts a property back, or clears it when it was not set.
+     */
+    private static void restore(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+}
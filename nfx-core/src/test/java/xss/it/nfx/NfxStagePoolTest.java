@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+package xss.it.nfx;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link NfxStagePool} headless under {@link SimulatedBackend}: prewarm, acquire, reuse,
+ * overflow and eviction.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+class NfxStagePoolTest {
+    /**
+     * Starts the toolkit.
+     */
+    @BeforeAll
+    static void startToolkit() throws Exception {
+        Fx.start();
+    }
+
+    /**
+     * Prewarm builds {@code minIdle} stages, acquire hands them out before creating more.
+     */
+    @Test
+    void prewarmAndAcquire() throws Exception {
+        Fx.run(() -> {
+            NfxStagePool<TestStage> pool = NfxStagePool.builder(TestStage::new).minIdle(2).maxIdle(4).build();
+            pool.prewarm();
+            assertEquals(2, pool.getCreatedCount());
+            assertEquals(2, pool.getIdleCount());
+
+            pool.prewarm();
+            assertEquals(2, pool.getCreatedCount(), "prewarm built past minIdle");
+
+            TestStage first = pool.acquire();
+            TestStage second = pool.acquire();
+            TestStage third = pool.acquire();
+            assertNotSame(first, second);
+            assertEquals(2, pool.getReuseCount());
+            assertEquals(3, pool.getCreatedCount());
+            assertEquals(0, pool.getIdleCount());
+            assertFalse(third.isShowing());
+            pool.clear();
+        });
+    }
+
+    /**
+     * A hidden stage is reset and handed out again, shown with its native side set up.
+     */
+    @Test
+    void hiddenStageIsReused() throws Exception {
+        AtomicInteger resets = new AtomicInteger();
+        Fx.run(() -> {
+            NfxStagePool<TestStage> pool = NfxStagePool.builder(TestStage::new)
+                    .minIdle(0)
+                    .reset(stage -> resets.incrementAndGet())
+                    .build();
+            TestStage stage = pool.acquire();
+            for (int i = 0; i < 5; i++) {
+                stage.show();
+                assertTrue(stage.isNfxReady(), "native side not set up, show " + i);
+                stage.hide();
+                assertEquals(1, pool.getIdleCount());
+                TestStage next = pool.acquire();
+                assertSame(stage, next);
+            }
+            assertEquals(1, pool.getCreatedCount());
+            assertEquals(5, pool.getReuseCount());
+            assertEquals(5, resets.get());
+            pool.clear();
+        });
+    }
+
+    /**
+     * Stages hidden while {@code maxIdle} are already idle are dropped, not reset.
+     */
+    @Test
+    void overflowIsDropped() throws Exception {
+        AtomicInteger resets = new AtomicInteger();
+        Fx.run(() -> {
+            NfxStagePool<TestStage> pool = NfxStagePool.builder(TestStage::new)
+                    .minIdle(0)
+                    .maxIdle(2)
+                    .reset(stage -> resets.incrementAndGet())
+                    .build();
+            List<TestStage> stages = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                TestStage stage = pool.acquire();
+                stage.show();
+                stages.add(stage);
+            }
+            stages.forEach(TestStage::hide);
+
+            assertEquals(2, pool.getIdleCount());
+            assertEquals(2, pool.getEvictedCount());
+            assertEquals(2, resets.get());
+
+            stages.get(0).show();
+            stages.get(0).hide();
+            assertEquals(2, pool.getIdleCount(), "a dropped stage came back");
+            pool.clear();
+            assertEquals(4, pool.getEvictedCount());
+        });
+    }
+
+    /**
+     * Stages idle past the timeout are evicted by the timer, down to {@code minIdle}.
+     */
+    @Test
+    void idleStagesAreEvicted() throws Exception {
+        NfxStagePool<TestStage> pool = Fx.call(() -> {
+            NfxStagePool<TestStage> p = NfxStagePool.builder(TestStage::new)
+                    .minIdle(1)
+                    .idleTimeout(Duration.ofMillis(100))
+                    .build();
+            List<TestStage> stages = List.of(p.acquire(), p.acquire(), p.acquire());
+            stages.forEach(stage -> {
+                stage.show();
+                stage.hide();
+            });
+            assertEquals(3, p.getIdleCount());
+            return p;
+        });
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (Fx.call(pool::getIdleCount) > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        Fx.run(() -> {
+            assertEquals(1, pool.getIdleCount());
+            assertEquals(2, pool.getEvictedCount());
+        });
+    }
+
+    /**
+     * Acquiring and returning stages keeps at most one eviction per pool in the timer.
+     */
+    @Test
+    void evictionsDoNotPileUp() throws Exception {
+        Fx.run(() -> {
+            int before = NfxStagePool.getPendingEvictionCount();
+            NfxStagePool<TestStage> pool = NfxStagePool.builder(TestStage::new)
+                    .minIdle(1)
+                    .maxIdle(4)
+                    .build();
+            TestStage kept = pool.acquire();
+            kept.show();
+            kept.hide();
+            for (int i = 0; i < 200; i++) {
+                TestStage a = pool.acquire();
+                TestStage b = pool.acquire();
+                a.show();
+                b.show();
+                b.hide();
+                a.hide();
+                assertTrue(NfxStagePool.getPendingEvictionCount() - before <= 1,
+                        "pending evictions: " + (NfxStagePool.getPendingEvictionCount() - before));
+            }
+            pool.clear();
+            assertEquals(before, NfxStagePool.getPendingEvictionCount());
+        });
+    }
+}
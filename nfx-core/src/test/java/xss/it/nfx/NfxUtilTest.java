@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the native calls {@link NfxUtil} makes on a {@link SimulatedBackend}: the attributes
+ * set during one FX event go down in one call, values already applied in none.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+class NfxUtilTest {
+    /**
+     * COLORREF (0x00BBGGRR) of the colors used here.
+     */
+    private static final int RED = 0x0000FF;
+    private static final int GREEN = 0x00FF00;
+    private static final int BLUE = 0xFF0000;
+
+    /**
+     * Starts the toolkit.
+     */
+    @BeforeAll
+    static void startToolkit() throws Exception {
+        Fx.start();
+    }
+
+    /**
+     * Four attributes and a repeated one set in the same event, one native call after it.
+     */
+    @Test
+    void oneCallPerEvent() throws Exception {
+        SimulatedBackend backend = new SimulatedBackend();
+        NfxUtil util = Fx.call(() -> new NfxUtil(new Stage(), backend));
+        long hWnd = util.getHWnd();
+        long before = backend.calls();
+
+        long queued = Fx.call(() -> {
+            util.setTitleBarColor(Color.RED);
+            util.setCaptionColor(Color.LIME);
+            util.setCornerPref(CornerPreference.ROUND);
+            util.setBorderColor(Color.BLUE);
+            util.setTitleBarColor(Color.BLUE);
+            return backend.calls();
+        });
+        assertEquals(before, queued, "setters called the backend before the flush");
+
+        Fx.run(() -> { }); // the flush scheduled by the setters ran before this
+        assertEquals(before + 1, backend.calls());
+        assertArrayEquals(new int[]{BLUE, GREEN, 2, BLUE}, backend.attributes(hWnd));
+    }
+
+    /**
+     * Values already applied, or set and reverted before the flush, cost no native call.
+     */
+    @Test
+    void appliedValuesAreSkipped() throws Exception {
+        SimulatedBackend backend = new SimulatedBackend();
+        NfxUtil util = Fx.call(() -> new NfxUtil(new Stage(), backend));
+        Fx.run(() -> {
+            util.setTitleBarColor(Color.RED);
+            util.flush();
+        });
+        long before = backend.calls();
+
+        Fx.run(() -> util.setTitleBarColor(Color.RED));
+        Fx.run(() -> {
+            util.setTitleBarColor(Color.LIME);
+            util.setTitleBarColor(Color.RED);
+        });
+        Fx.run(util::flush);
+        assertEquals(before, backend.calls());
+        assertEquals(RED, backend.attributes(util.getHWnd())[NfxUtil.ATTR_TITLE_BAR]);
+    }
+
+    /**
+     * Setters called off the FX thread are handed over to it and applied in call order.
+     */
+    @Test
+    void settersOffFxThread() throws Exception {
+        SimulatedBackend backend = new SimulatedBackend();
+        NfxUtil util = Fx.call(() -> new NfxUtil(new Stage(), backend));
+        long before = backend.calls();
+
+        // the FX thread is held while the values are handed over, as in one burst
+        CountDownLatch hold = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                hold.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            util.setTitleBarColor(Color.RED);
+            util.setBorderColor(Color.LIME);
+            util.setTitleBarColor(Color.BLUE);
+            util.flush();
+            assertEquals(before, backend.calls(), "setters called the backend off the FX thread");
+        } finally {
+            hold.countDown();
+        }
+        Fx.run(() -> { });
+        assertEquals(BLUE, backend.attributes(util.getHWnd())[NfxUtil.ATTR_TITLE_BAR]);
+        assertEquals(GREEN, backend.attributes(util.getHWnd())[NfxUtil.ATTR_BORDER]);
+        assertEquals(before + 1, backend.calls());
+    }
+}
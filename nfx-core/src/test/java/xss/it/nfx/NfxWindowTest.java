@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.scene.paint.Color;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the readiness signal of {@link NfxWindow} headless under {@link SimulatedBackend}:
+ * nfxReady turns on during show, once the window list has the peer and the initial
+ * attributes are applied, before WINDOW_SHOWN, and the readiness future is replaced on hide.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+class NfxWindowTest {
+    /**
+     * COLORREF (0x00BBGGRR) of the title-bar color used here.
+     */
+    private static final int RED = 0x0000FF;
+
+    /**
+     * The backend selected by {@code -Dnfx.backend=simulated}.
+     */
+    private static SimulatedBackend backend;
+
+    /**
+     * Starts the toolkit and checks the backend.
+     */
+    @BeforeAll
+    static void startToolkit() throws Exception {
+        Fx.start();
+        backend = assertInstanceOf(SimulatedBackend.class, NfxBackend.current(),
+                "run with -Dnfx.backend=simulated");
+    }
+
+    /**
+     * nfxReady flips once per show, after the native side is applied and before WINDOW_SHOWN.
+     */
+    @Test
+    void readyAfterApplyNativeOnShow() throws Exception {
+        TestStage stage = Fx.call(TestStage::new);
+        long hWnd = Fx.call(() -> backend.windowHandle(stage));
+        List<String> events = new ArrayList<>();
+
+        Fx.run(() -> {
+            assertFalse(stage.isNfxReady(), "ready before the first show");
+            assertFalse(stage.whenNfxReady().isDone(), "future done before the first show");
+            stage.setTitleBarColor(Color.RED);
+            stage.addEventHandler(WindowEvent.WINDOW_SHOWN, e -> events.add("shown"));
+            // listeners cannot fail the test, they record what they saw
+            stage.nfxReadyProperty().addListener((obs, o, ready) -> events.add(!ready ? "not ready"
+                    : !Window.getWindows().contains(stage) ? "ready without peer"
+                    : backend.attributes(hWnd)[0] != RED ? "ready without attributes"
+                    : "ready"));
+
+            stage.show();
+            assertTrue(stage.isNfxReady(), "not ready after show");
+            assertSame(stage.getNfxUtil(), stage.whenNfxReady().getNow(null));
+            stage.hide();
+            assertFalse(stage.isNfxReady(), "still ready after hide");
+            stage.show();
+            stage.hide();
+        });
+
+        assertEquals(List.of("ready", "shown", "not ready", "ready", "shown", "not ready"), events);
+    }
+
+    /**
+     * Hiding replaces a completed future, the next show completes the new one.
+     */
+    @Test
+    void futureResetsOnHide() throws Exception {
+        TestStage stage = Fx.call(TestStage::new);
+
+        Fx.run(() -> {
+            CompletableFuture<NfxUtil> first = stage.whenNfxReady();
+            stage.hide();
+            assertSame(first, stage.whenNfxReady(), "a pending future was replaced");
+
+            stage.show();
+            NfxUtil firstUtil = first.getNow(null);
+            assertSame(stage.getNfxUtil(), firstUtil, "first show did not complete the future");
+            stage.hide();
+
+            CompletableFuture<NfxUtil> second = stage.whenNfxReady();
+            assertNotSame(first, second, "future not reset on hide");
+            assertFalse(second.isDone(), "reset future already done");
+            assertSame(firstUtil, first.getNow(null), "completed future changed on hide");
+
+            stage.show();
+            assertSame(stage.getNfxUtil(), second.getNow(null), "next show did not complete the new future");
+            stage.hide();
+        });
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+package xss.it.nfx;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Compares the Java hit test of a title bar with rectangle-only spots and with precise spots.
+ * <p>
+ * The title bar is a caption holding pill-shaped controls, laid out without being shown. The
+ * same controls are registered twice, once as plain spots and once with
+ * {@link HitSpot.Builder#precise(boolean)}, and every point of the title bar on a half-DIP
+ * grid is looked up in both snapshots. The report gives the cost per lookup, the bytes
+ * allocated by the timed lookups, how many lookups needed the shape test and how many
+ * resolved differently (the transparent corners of the pills, which precise spots hand
+ * back to the caption).
+ * <p>
+ * Usage: {@code gradle preciseHitTestBenchmark --args='[controls] [passes]'}, which runs it
+ * from the test class path on the simulated backend and headless Monocle, like the tests.
+ * Allocation is reported as by {@link HitTestReplayer}.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+public final class PreciseHitTestBenchmark {
+    /**
+     * Controls in the title bar when none are given.
+     */
+    private static final int DEFAULT_CONTROLS = 8;
+
+    /**
+     * Passes timed when none are given.
+     */
+    private static final int DEFAULT_PASSES = 20;
+
+    /**
+     * Title-bar height, also the height and corner diameter of the controls.
+     */
+    private static final double TITLE_BAR_HEIGHT = 32;
+
+    /**
+     * Width of a control.
+     */
+    private static final double CONTROL_WIDTH = 46;
+
+    /**
+     * Grid step of the probed points.
+     */
+    private static final double STEP = 0.5;
+
+    /**
+     * Rectangle-only snapshot.
+     */
+    private final HitSpotSnapshot plain;
+
+    /**
+     * Snapshot with every control precise.
+     */
+    private final HitSpotSnapshot precise;
+
+    /**
+     * Probed points.
+     */
+    private final double[] xs, ys;
+
+    /**
+     * Keeps the timed loops from being optimized away.
+     */
+    private long sink = 0;
+
+    /**
+     * Builds the title bar and both snapshots. Must be called on the JavaFX Application Thread.
+     *
+     * @param controls number of controls
+     */
+    private PreciseHitTestBenchmark(int controls) {
+        Window window = new Window();
+        HBox titleBar = new HBox(4);
+        titleBar.setPadding(new Insets(0, 8, 0, 8));
+        List<HitSpot> plainSpots = new ArrayList<>();
+        List<HitSpot> preciseSpots = new ArrayList<>();
+        plainSpots.add(HitSpot.builder().window(window).control(titleBar).caption(true).build());
+        preciseSpots.add(HitSpot.builder().window(window).control(titleBar).caption(true).build());
+        for (int i = 0; i < controls; i++) {
+            Region pill = new Region();
+            pill.setMinSize(CONTROL_WIDTH, TITLE_BAR_HEIGHT);
+            pill.setMaxSize(CONTROL_WIDTH, TITLE_BAR_HEIGHT);
+            pill.setBackground(new Background(new BackgroundFill(Color.GRAY,
+                    new CornerRadii(TITLE_BAR_HEIGHT / 2), Insets.EMPTY)));
+            titleBar.getChildren().add(pill);
+            plainSpots.add(HitSpot.builder().window(window).control(pill).build());
+            preciseSpots.add(HitSpot.builder().window(window).control(pill).precise(true).build());
+        }
+        titleBar.setMinHeight(TITLE_BAR_HEIGHT);
+        titleBar.setMaxHeight(TITLE_BAR_HEIGHT);
+
+        BorderPane root = new BorderPane();
+        root.setTop(titleBar);
+        double width = controls * (CONTROL_WIDTH + 4) + 16;
+        window.setScene(new Scene(root, width, 200));
+        root.applyCss();
+        root.layout();
+
+        plain = HitSpotSnapshot.of(plainSpots);
+        precise = HitSpotSnapshot.of(preciseSpots);
+
+        int columns = (int) (width / STEP), rows = (int) (TITLE_BAR_HEIGHT / STEP);
+        xs = new double[columns * rows];
+        ys = new double[columns * rows];
+        for (int r = 0, k = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++, k++) {
+                xs[k] = c * STEP;
+                ys[k] = r * STEP;
+            }
+        }
+    }
+
+    /**
+     * Runs the comparison and prints a report.
+     *
+     * @param args the number of controls and, optionally, the number of timed passes
+     * @throws InterruptedException if interrupted while waiting for the toolkit
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int controls = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CONTROLS;
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PASSES;
+
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            try {
+                new PreciseHitTestBenchmark(controls).report(passes);
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    /**
+     * Checks both snapshots against each other, then times them.
+     */
+    private void report(int passes) {
+        int shapeTests = 0, differences = 0;
+        for (int i = 0; i < xs.length; i++) {
+            int p = plain.find(xs[i], ys[i]);
+            if (p >= 0 && !plain.spot(p).isCaption()) shapeTests++;
+            if (p != precise.find(xs[i], ys[i])) differences++;
+        }
+        System.out.printf("controls    %d%n", plain.size() - 1);
+        System.out.printf("lookups     %d per pass%n", xs.length);
+        System.out.printf("shape tests %d (%.1f%% of lookups)%n", shapeTests, 100.0 * shapeTests / xs.length);
+        System.out.printf("differences %d (pill corners resolved to the caption)%n", differences);
+
+        time("rect-only", plain, passes);
+        time("precise", precise, passes);
+        if (sink == 42) System.out.println();
+    }
+
+    /**
+     * Warms up, then times lookups in one snapshot.
+     */
+    private void time(String name, HitSpotSnapshot snapshot, int passes) {
+        for (int i = 0; i < passes; i++) pass(snapshot);
+        long allocated = HitTestReplayer.allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < passes; i++) pass(snapshot);
+        long elapsed = System.nanoTime() - start;
+        allocated = allocated < 0 ? -1 : HitTestReplayer.allocatedBytes() - allocated;
+
+        double total = (double) xs.length * passes;
+        System.out.printf("%-11s %.1f ns/lookup, %s%n", name, elapsed / total,
+                allocated < 0 ? "allocation n/a" : String.format("%.2f bytes/lookup", allocated / total));
+    }
+
+    /**
+     * Looks up every probed point once.
+     */
+    private void pass(HitSpotSnapshot snapshot) {
+        long sum = 0;
+        for (int i = 0; i < xs.length; i++) {
+            sum += snapshot.find(xs[i], ys[i]);
+        }
+        sink += sum;
+    }
+
+    /**
+     * Owner of the spots, never shown.
+     */
+    private static final class Window extends AbstractNfxUndecoratedWindow {
+        /**
+         * Creates the window.
+         */
+        private Window() {
+        }
+
+        @Override
+        protected List<HitSpot> getHitSpots() {
+            return List.of();
+        }
+
+        @Override
+        protected double getTitleBarHeight() {
+            return TITLE_BAR_HEIGHT;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2026. XTREME SOFTWARE SOLUTIONS
+ *
+ * All rights reserved. Unauthorized use, reproduction, or distribution
+ * of this software or any portion of it is strictly prohibited and may
+ * result in severe civil and criminal penalties. This code is the sole
+ * proprietary of XTREME SOFTWARE SOLUTIONS.
+ *
+ * Commercialization, redistribution, and use without explicit permission
+ * from XTREME SOFTWARE SOLUTIONS, are expressly forbidden.
+ */
+
+package xss.it.nfx;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Control;
+import javafx.scene.control.Skin;
+import javafx.scene.control.SkinBase;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+
+/**
+ * A small stage with a caption area and the three window controls.
+ *
+ * @author XDSSWAR
+ * Created on 10/17/2026
+ */
+class TestStage extends NfxStage {
+    /**
+     * Height of the title bar.
+     */
+    static final double TITLE_BAR_HEIGHT = 32;
+
+    /**
+     * Width of a window control.
+     */
+    static final double CONTROL_WIDTH = 46;
+
+    /**
+     * Creates the stage with its scene.
+     */
+    TestStage() {
+        Control min = control();
+        Control max = control();
+        Control close = control();
+        HBox titleBar = new HBox(min, max, close);
+        titleBar.setMinHeight(TITLE_BAR_HEIGHT);
+        titleBar.setPrefHeight(TITLE_BAR_HEIGHT);
+        titleBar.setMaxHeight(TITLE_BAR_HEIGHT);
+
+        BorderPane root = new BorderPane();
+        root.setTop(titleBar);
+        setScene(new Scene(root, 400, 300));
+
+        addCaptionAreas(titleBar);
+        setMinControl(min);
+        setMaxControl(max);
+        setCloseControl(close);
+    }
+
+    /**
+     * Creates a window control of a fixed size. It has an empty skin and no text, so the tests also
+     * run where no font stack is installed.
+     *
+     * @return the control
+     */
+    private static Control control() {
+        Control control = new Control() {
+            @Override
+            protected Skin<?> createDefaultSkin() {
+                return new SkinBase<>(this) {};
+            }
+        };
+        control.setMinSize(CONTROL_WIDTH, TITLE_BAR_HEIGHT);
+        control.setPrefSize(CONTROL_WIDTH, TITLE_BAR_HEIGHT);
+        control.setMaxSize(CONTROL_WIDTH, TITLE_BAR_HEIGHT);
+        return control;
+    }
+
+    @Override
+    protected double getTitleBarHeight() {
+        return TITLE_BAR_HEIGHT;
+    }
+}